@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BenchmarkDataSeeder {
+    private static final String[] ITEM_NAMES = {"Дрель", "Отвертка", "Молоток", "Пила", "Лестница", "Палатка",
+            "Велосипед", "Проектор"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int users;
+    private final int itemsPerUser;
+    private final int bookingsPerItem;
+    private final int commentsPerItem;
+
+    public BenchmarkDataSeeder(JdbcTemplate jdbcTemplate, int users, int itemsPerUser, int bookingsPerItem,
+                               int commentsPerItem) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.users = users;
+        this.itemsPerUser = itemsPerUser;
+        this.bookingsPerItem = bookingsPerItem;
+        this.commentsPerItem = commentsPerItem;
+    }
+
+    public void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> requestRows = new ArrayList<>();
+        for (long userId = 1; userId <= users; userId++) {
+            userRows.add(new Object[]{"User " + userId, "user" + userId + "@benchmark.ru"});
+            requestRows.add(new Object[]{"Нужна вещь для пользователя " + userId, userId, now.minusMinutes(userId)});
+        }
+        insert("INSERT INTO users (name, email) VALUES (?, ?)", userRows);
+        insert("INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)", requestRows);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (long ownerId = 1; ownerId <= users; ownerId++) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                long itemId = (ownerId - 1) * itemsPerUser + i + 1;
+                itemRows.add(new Object[]{ITEM_NAMES[(int) (itemId % ITEM_NAMES.length)] + " " + itemId,
+                        "Описание вещи " + itemId, true, ownerId, itemId % 4 == 0 ? ownerId % users + 1 : null});
+                for (int b = 0; b < bookingsPerItem; b++) {
+                    long bookerId = bookerOf(ownerId, b);
+                    LocalDateTime start = now.plusDays(2L * (b - bookingsPerItem / 2));
+                    bookingRows.add(new Object[]{start, start.plusDays(1), itemId, bookerId,
+                            b % 3 == 2 ? "WAITING" : "APPROVED"});
+                }
+                for (int c = 0; c < commentsPerItem; c++) {
+                    commentRows.add(new Object[]{"Отзыв " + c + " о вещи " + itemId, itemId, bookerOf(ownerId, c),
+                            now.minusHours(c)});
+                }
+            }
+        }
+        insert("INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)",
+                itemRows);
+        insert("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                bookingRows);
+        insert("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)", commentRows);
+    }
+
+    private long bookerOf(long ownerId, int index) {
+        long bookerId = (ownerId + index) % users + 1;
+        return bookerId == ownerId ? bookerId % users + 1 : bookerId;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingServiceBenchmark {
+    private static final LocalDateTime FUTURE = LocalDateTime.now().plusYears(1);
+    private static final AtomicLong SLOT = new AtomicLong();
+
+    @Benchmark
+    public BookingResponseDto addNewBooking(ShareItState state) {
+        long itemId = state.randomItemId();
+        long bookerId = state.ownerOf(itemId) % state.users + 1;
+        LocalDateTime start = FUTURE.plusHours(2 * SLOT.incrementAndGet());
+        return state.bookingService.addNewBooking(bookerId, new BookingRequestDto(itemId, start, start.plusHours(1)));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getUserBookings(ShareItState state) {
+        return state.bookingService.getUserBookings(state.randomUserId(), "ALL", 0, 10);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getOwnerBookings(ShareItState state) {
+        return state.bookingService.getOwnerBookings(state.randomUserId(), "ALL", 0, 10);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class HttpLoadBenchmark {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp(HttpServerState state) {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        baseUrl = state.baseUrl();
+    }
+
+    @Benchmark
+    public int getOwnerItems(HttpServerState state) throws IOException, InterruptedException {
+        return send("/items", state.randomUserId());
+    }
+
+    @Benchmark
+    public int getUserBookings(HttpServerState state) throws IOException, InterruptedException {
+        return send("/bookings?state=ALL&from=0&size=10", state.randomUserId());
+    }
+
+    @Benchmark
+    public int getAllRequests(HttpServerState state) throws IOException, InterruptedException {
+        return send("/requests/all?from=0&size=20", state.randomUserId());
+    }
+
+    private int send(String path, long userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
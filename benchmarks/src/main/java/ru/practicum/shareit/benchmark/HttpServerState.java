@@ -0,0 +1,28 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.springframework.boot.WebApplicationType;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+public class HttpServerState extends ShareItState {
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    public String baseUrl() {
+        return "http://localhost:" + context().getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected String[] arguments() {
+        return Stream.concat(Arrays.stream(super.arguments()), Stream.of("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads))
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemRequestServiceBenchmark {
+    private static final long READER_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+
+    private int deepOffset;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        deepOffset = Math.max(PAGE_SIZE, state.users / 2 / PAGE_SIZE * PAGE_SIZE);
+        List<ItemRequestDtoOut> skipped = state.itemRequestService.getAllRequests(READER_ID, 0, deepOffset);
+        deepCursor = ItemRequestCursor.of(skipped.get(skipped.size() - 1)).encode();
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoOut> getUserRequests(ShareItState state) {
+        return state.itemRequestService.getUserRequests(state.randomUserId());
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoOut> getAllRequestsFirstPage(ShareItState state) {
+        return state.itemRequestService.getAllRequests(state.randomUserId(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoOut> getAllRequestsDeepOffset(ShareItState state) {
+        return state.itemRequestService.getAllRequests(READER_ID, deepOffset, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoOut> getAllRequestsDeepCursor(ShareItState state) {
+        return state.itemRequestService.getAllRequests(READER_ID, deepCursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import ru.practicum.shareit.item.dto.ItemDetailsDto;
+import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
+import ru.practicum.shareit.item.dto.ItemSimpleDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public List<ItemOwnerViewDto> getAllItemsByOwner(ShareItState state) {
+        return state.itemService.getAllItemsByOwner(state.randomUserId());
+    }
+
+    @Benchmark
+    public ItemDetailsDto getItemById(ShareItState state) {
+        long itemId = state.randomItemId();
+        return state.itemService.getItemById(itemId, state.ownerOf(itemId));
+    }
+
+    @Benchmark
+    public List<ItemSimpleDto> searchItems(ShareItState state) {
+        return state.itemService.searchItems("дрел");
+    }
+
+    @Benchmark
+    public List<ItemSimpleDto> searchItemsRanked(ShareItState state) {
+        return state.itemService.searchItemsRanked("дрель", 0, 10);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    private static final String[] COLD_CACHE_ARGUMENTS = {
+            "--shareit.cache.item-details.expire-after-write=0s",
+            "--shareit.cache.item-booking-summary.expire-after-write=0s",
+            "--shareit.cache.booking-lists.expire-after-write=0s",
+            "--shareit.cache.user-existence.expire-after-write=0s",
+            "--shareit.cache.user-existence.negative-expire-after-write=0s"};
+
+    @Param("500")
+    public int users;
+    @Param("10")
+    public int itemsPerUser;
+    @Param("6")
+    public int bookingsPerItem;
+    @Param("3")
+    public int commentsPerItem;
+    @Param({"warm", "cold"})
+    public String caches;
+
+    public BookingService bookingService;
+    public ItemService itemService;
+    public ItemRequestService itemRequestService;
+    public UserService userService;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(webApplicationType())
+                .run(arguments());
+        new BenchmarkDataSeeder(context.getBean(JdbcTemplate.class), users, itemsPerUser, bookingsPerItem,
+                commentsPerItem).seed();
+
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        userService = context.getBean(UserService.class);
+    }
+
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    protected String[] arguments() {
+        Stream<String> arguments = Stream.of("--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        if ("cold".equals(caches)) {
+            arguments = Stream.concat(arguments, Stream.of(COLD_CACHE_ARGUMENTS));
+        }
+        return arguments.toArray(String[]::new);
+    }
+
+    protected ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1);
+    }
+
+    public long randomItemId() {
+        return ThreadLocalRandom.current().nextLong(1, (long) users * itemsPerUser + 1);
+    }
+
+    public long ownerOf(long itemId) {
+        return (itemId - 1) / itemsPerUser + 1;
+    }
+}
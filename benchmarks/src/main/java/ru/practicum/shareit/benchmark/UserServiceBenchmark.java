@@ -0,0 +1,25 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    @Benchmark
+    public UserDto getUserById(ShareItState state) {
+        return state.userService.getUserById(state.randomUserId());
+    }
+
+    @Benchmark
+    public List<UserDto> getUsers(ShareItState state) {
+        return state.userService.getUsers(0, 100);
+    }
+}
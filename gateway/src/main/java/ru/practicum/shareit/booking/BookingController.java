@@ -3,12 +3,14 @@ package ru.practicum.shareit.booking;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
@@ -22,10 +24,10 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                    @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
@@ -33,35 +35,55 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
-                                                   @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+                                                         @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get owner bookings with state {}, ownerId={}, from={}, size={}", stateParam, ownerId, from, size);
         return bookingClient.getOwnerBookings(ownerId, state, from, size);
     }
 
+    @GetMapping("/counts")
+    public Mono<ResponseEntity<Object>> getBookingCounts(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+        log.info("Get booking counts, userId={}", userId);
+        return bookingClient.getBookingCounts(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public Mono<ResponseEntity<Object>> getOwnerBookingCounts(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId) {
+        log.info("Get owner booking counts, ownerId={}", ownerId);
+        return bookingClient.getOwnerBookingCounts(ownerId);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @PathVariable @Positive Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                   @PathVariable @Positive Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addNewBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                @RequestBody @Valid BookingRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addNewBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                      @RequestBody @Valid BookingRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                @PathVariable @Positive Long bookingId,
-                                                @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                      @PathVariable @Positive Long bookingId,
+                                                      @RequestParam Boolean approved) {
         log.info("Updating booking {}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.updateBooking(userId, bookingId, approved);
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> updateBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                       @RequestBody @Valid BookingBatchRequestDto requestDto) {
+        log.info("Updating {} bookings, userId={}, approved={}", requestDto.getBookingIds().size(), userId,
+                requestDto.getApproved());
+        return bookingClient.updateBookings(userId, requestDto);
+    }
+}
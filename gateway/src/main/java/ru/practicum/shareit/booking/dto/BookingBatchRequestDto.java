@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchRequestDto {
+    @NotEmpty(message = "Список бронирований не может быть пустым.")
+    @Size(max = 500, message = "За один запрос можно обработать не более 500 бронирований.")
+    private List<@NotNull @Positive Long> bookingIds;
+    @NotNull(message = "Решение по бронированиям не может быть пустым.")
+    private Boolean approved;
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final boolean passthrough;
+
+    public RestTemplateTransport(RestTemplate rest, boolean passthrough) {
+        this.rest = rest;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, headers, parameters, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(String path, HttpHeaders headers,
+                                               @Nullable Map<String, Object> parameters) {
+        return Mono.fromCallable(() -> open(path, headers, parameters));
+    }
+
+    private ResponseEntity<Object> open(String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters) throws IOException {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        request.getHeaders().addAll(headers);
+        ClientHttpResponse response = request.execute();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                return ServerResponses.error(response.getStatusCode(), response.getHeaders(),
+                        StreamUtils.copyToByteArray(response.getBody()), passthrough);
+            }
+        }
+        InputStream body = new FilterInputStream(response.getBody()) {
+            @Override
+            public void close() {
+                response.close();
+            }
+        };
+        return ServerResponses.passthrough(response.getStatusCode(), response.getHeaders(),
+                new InputStreamResource(body));
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        Class<?> responseType = passthrough ? byte[].class : Object.class;
+
+        ResponseEntity<?> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ServerResponses.error(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray(),
+                    passthrough);
+        }
+        if (passthrough) {
+            return ServerResponses.passthrough(shareitServerResponse.getStatusCode(),
+                    shareitServerResponse.getHeaders(), (byte[]) shareitServerResponse.getBody());
+        }
+        return ServerResponses.gateway(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+}
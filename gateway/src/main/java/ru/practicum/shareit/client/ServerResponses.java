@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+final class ServerResponses {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TE, HttpHeaders.TRAILER,
+            HttpHeaders.UPGRADE, HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
+
+    private ServerResponses() {
+    }
+
+    static ResponseEntity<Object> gateway(HttpStatusCode status, HttpHeaders headers, @Nullable Object body) {
+        if (status.is2xxSuccessful()) {
+            return new ResponseEntity<>(body, headers, status);
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        if (body != null) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+
+    static ResponseEntity<Object> passthrough(HttpStatusCode status, HttpHeaders headers, @Nullable Object body) {
+        HttpHeaders forwarded = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                forwarded.addAll(name, values);
+            }
+        });
+        return new ResponseEntity<>(body, forwarded, status);
+    }
+
+    static ResponseEntity<Object> error(HttpStatusCode status, @Nullable HttpHeaders headers, byte[] body,
+                                        boolean passthrough) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        if (passthrough && headers != null && headers.getContentType() != null) {
+            responseBuilder.contentType(headers.getContentType());
+        }
+        return responseBuilder.body(body);
+    }
+}
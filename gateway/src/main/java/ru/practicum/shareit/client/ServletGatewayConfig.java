@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServletGatewayConfig {
+
+    @Bean
+    public SmartInitializingSingleton blockingMonoReturnValueHandlerRegistrar(RequestMappingHandlerAdapter handlerAdapter) {
+        return () -> {
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(handlerAdapter.getReturnValueHandlers());
+            HandlerMethodReturnValueHandler entityHandler = handlers.stream()
+                    .filter(HttpEntityMethodProcessor.class::isInstance)
+                    .findFirst()
+                    .orElseThrow();
+            handlers.add(0, new BlockingMonoReturnValueHandler(entityHandler));
+            handlerAdapter.setReturnValueHandlers(handlers);
+        };
+    }
+}
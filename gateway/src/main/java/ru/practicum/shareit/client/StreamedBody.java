@@ -0,0 +1,7 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+record StreamedBody(Flux<DataBuffer> content) {
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientTransport implements ServerTransport {
+    private final WebClient webClient;
+    private final boolean passthrough;
+
+    public WebClientTransport(WebClient webClient, boolean passthrough) {
+        this.webClient = webClient;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        return relay(body != null ? request.bodyValue(body) : request);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(String path, HttpHeaders headers,
+                                               @Nullable Map<String, Object> parameters) {
+        return relay(webClient.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers)));
+    }
+
+    private Mono<ResponseEntity<Object>> relay(WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ServerResponses.passthrough(response.getStatusCode(), response.getHeaders(),
+                        new StreamedBody(response.getBody())))
+                .onErrorResume(WebClientResponseException.class, e -> Mono.just(ServerResponses.error(
+                        e.getStatusCode(), e.getHeaders(), e.getResponseBodyAsByteArray(), passthrough)));
+    }
+}
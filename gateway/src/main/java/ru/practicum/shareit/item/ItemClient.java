@@ -1,13 +1,11 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
 
@@ -18,45 +16,49 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> addItem(Long userId, ItemOwnerViewDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(Long userId, ItemOwnerViewDto itemDto) {
         return post("", userId, itemDto);
     }
 
 
-    public ResponseEntity<Object> addComment(Long itemId, Long userId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, Long userId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemOwnerViewDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemOwnerViewDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItemsByOwner(Long userId) {
+    public Mono<ResponseEntity<Object>> getAllItemsByOwner(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
+    public Mono<ResponseEntity<Object>> searchItems(String text) {
         Map<String, Object> parameters = Map.of(
                 "text", text
         );
         return getWithoutUserId("/search?text={text}", parameters);
     }
 
-    protected ResponseEntity<Object> getWithoutUserId(String path, Map<String, Object> parameters) {
-        return rest.getForEntity(path, Object.class, parameters);
+    public Mono<ResponseEntity<Object>> searchItemsRanked(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return getWithoutUserId("/search?text={text}&ranked=true&from={from}&size={size}", parameters);
+    }
+
+    protected Mono<ResponseEntity<Object>> getWithoutUserId(String path, Map<String, Object> parameters) {
+        return get(path, null, parameters);
     }
 
 }
@@ -2,11 +2,13 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
 
@@ -21,40 +23,46 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                          @Valid @RequestBody ItemOwnerViewDto itemOwnerViewDto) {
+    public Mono<ResponseEntity<Object>> addItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                @Valid @RequestBody ItemOwnerViewDto itemOwnerViewDto) {
         return itemClient.addItem(userId, itemOwnerViewDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable long itemId,
-                                             @Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable long itemId,
+                                                   @Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Valid @RequestBody CommentDto commentDto) {
         return itemClient.addComment(itemId, userId, commentDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Positive @PathVariable long itemId,
-                                             @RequestBody ItemOwnerViewDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Positive @PathVariable long itemId,
+                                                   @RequestBody ItemOwnerViewDto itemDto) {
         return itemClient.updateItem(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                              @Positive @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> getItemById(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @Positive @PathVariable long itemId) {
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwner(@Positive @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getItemsByOwner(@Positive @RequestHeader("X-Sharer-User-Id") long userId) {
         return itemClient.getAllItemsByOwner(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
+                                                    @RequestParam(defaultValue = "false") Boolean ranked,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(defaultValue = "10") Integer size) {
         if (text.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+        if (ranked) {
+            return itemClient.searchItemsRanked(text, from, size);
         }
         return itemClient.searchItems(text);
     }
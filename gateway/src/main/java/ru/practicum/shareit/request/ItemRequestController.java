@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 
 @RestController
@@ -18,26 +19,30 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addNewRequest(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Valid @RequestBody ItemRequestDtoIn itemRequestDtoIn) {
+    public Mono<ResponseEntity<Object>> addNewRequest(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Valid @RequestBody ItemRequestDtoIn itemRequestDtoIn) {
         return itemRequestClient.addNewRequest(userId, itemRequestDtoIn);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@Positive @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(@Positive @RequestHeader("X-Sharer-User-Id") long userId) {
         return itemRequestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @RequestParam(defaultValue = "0") Integer from,
-                                                 @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @RequestParam(defaultValue = "0") Integer from,
+                                                       @RequestParam(defaultValue = "10") Integer size,
+                                                       @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return itemRequestClient.getAllRequests(userId, cursor, size);
+        }
         return itemRequestClient.getAllRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @Positive @PathVariable long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @Positive @PathVariable long requestId) {
         return itemRequestClient.getRequestById(userId, requestId);
     }
 }
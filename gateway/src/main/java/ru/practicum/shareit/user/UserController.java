@@ -2,10 +2,12 @@ package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 
@@ -17,27 +19,33 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return userClient.getAllUsers();
     }
 
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<Object>> getUsers(@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                 @Positive @RequestParam Integer size) {
+        return userClient.getUsers(from, size);
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@Positive @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(@Positive @PathVariable Long userId) {
         return userClient.getUserById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addNewUser(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addNewUser(@Valid @RequestBody UserDto userDto) {
         return userClient.addNewUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@Positive @PathVariable Long userId, @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(@Positive @PathVariable Long userId, @RequestBody UserDto userDto) {
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUser(@Positive @PathVariable Long userId) {
-        userClient.deleteUserById(userId);
+    public Mono<Void> deleteUser(@Positive @PathVariable Long userId) {
+        return userClient.deleteUserById(userId).then();
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BookingControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    void getBookings_inServletMode_shouldAnswerWithoutAsyncDispatch() throws Exception {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(bookingClient.getBookings(1L, BookingState.ALL, 0, 10))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body)));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1}]"));
+    }
+
+    @Test
+    void getBookings_whenSizeIsNotPositive_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1).param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+}
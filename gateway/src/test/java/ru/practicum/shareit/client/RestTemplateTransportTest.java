@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class RestTemplateTransportTest {
+    private static final String SERVER_URL = "http://localhost:9090/bookings";
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void exchange_whenPassthrough_shouldRelayRawBodyAndUserHeader() {
+        server.expect(requestTo(SERVER_URL + "?state=ALL"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "42"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "42");
+
+        ResponseEntity<Object> response = new RestTemplateTransport(rest, true)
+                .exchange(HttpMethod.GET, "?state={state}", headers, Map.of("state", "ALL"), null)
+                .block();
+
+        server.verify();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1}]");
+    }
+
+    @Test
+    void exchange_whenNotPassthrough_shouldDeserializeBody() {
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = new RestTemplateTransport(rest, false)
+                .exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null)
+                .block();
+
+        assertThat(response.getBody()).isEqualTo(Map.of("id", 1));
+    }
+
+    @Test
+    void exchange_whenServerReturnsError_shouldRelayStatusAndBody() {
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"not found\"}"));
+
+        ResponseEntity<Object> response = new RestTemplateTransport(rest, true)
+                .exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null)
+                .block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"error\":\"not found\"}");
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebClientTransportTest {
+    private static final int MAX_IN_MEMORY_SIZE = 64 * 1024;
+    private static final byte[] LARGE_BODY = new byte[MAX_IN_MEMORY_SIZE * 16];
+
+    private DisposableServer server;
+    private WebClientTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        Arrays.fill(LARGE_BODY, (byte) 'x');
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/large", (request, response) -> response
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendByteArray(Mono.just(LARGE_BODY)))
+                        .get("/user", (request, response) -> response
+                                .sendString(Mono.just(request.requestHeaders().get("X-Sharer-User-Id"))))
+                        .get("/missing", (request, response) -> response
+                                .status(HttpResponseStatus.NOT_FOUND)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("{\"error\":\"not found\"}"))))
+                .bindNow();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port())
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                .build();
+        transport = new WebClientTransport(webClient, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void exchange_whenBodyExceedsMaxInMemorySize_shouldStreamIt() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/large", new HttpHeaders(), null, null)
+                .block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isInstanceOf(StreamedBody.class);
+        assertThat(readBytes((StreamedBody) response.getBody())).isEqualTo(LARGE_BODY.length);
+    }
+
+    @Test
+    void exchange_shouldForwardUserHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "42");
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/user", headers, null, null).block();
+
+        StreamedBody body = (StreamedBody) response.getBody();
+        String content = DataBufferUtils.join(body.content())
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block();
+        assertThat(content).isEqualTo("42");
+    }
+
+    @Test
+    void exchange_whenServerReturnsError_shouldRelayStatusAndBody() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/missing", new HttpHeaders(), null, null)
+                .block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"error\":\"not found\"}");
+    }
+
+    private static long readBytes(StreamedBody body) {
+        return body.content()
+                .map(buffer -> {
+                    int bytes = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return (long) bytes;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+    }
+}
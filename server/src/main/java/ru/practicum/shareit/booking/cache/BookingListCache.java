@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class BookingListCache {
+    private static final String CACHE_NAME = "bookingLists";
+    private static final Set<State> TIME_DEPENDENT_STATES = EnumSet.of(State.CURRENT, State.PAST, State.FUTURE);
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    private record BucketKey(Role role, Long userId, boolean timeDependent) {
+    }
+
+    private record PageKey(State state, int from, int size) {
+    }
+
+    private record Bucket(LocalDateTime validUntil, ConcurrentMap<PageKey, List<BookingResponseDto>> pages) {
+    }
+
+    private final Clock clock;
+    private final Cache<BucketKey, Bucket> cache;
+    private final int maximumPagesPerBucket;
+
+    public BookingListCache(MeterRegistry meterRegistry,
+                            Clock clock,
+                            Ticker ticker,
+                            @Value("${shareit.cache.booking-lists.maximum-size:10000}") long maximumSize,
+                            @Value("${shareit.cache.booking-lists.maximum-pages-per-bucket:32}") int maximumPagesPerBucket,
+                            @Value("${shareit.cache.booking-lists.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.clock = clock;
+        this.maximumPagesPerBucket = maximumPagesPerBucket;
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<BucketKey, Bucket>() {
+                    @Override
+                    public long expireAfterCreate(BucketKey key, Bucket bucket, long currentTime) {
+                        return untilTransition(bucket, expireAfterWrite);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(BucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+                        return untilTransition(bucket, expireAfterWrite);
+                    }
+
+                    @Override
+                    public long expireAfterRead(BucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener((BucketKey key, Bucket bucket, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED && key.timeDependent()) {
+                        log.debug("Списки бронирований {} ID {} устарели в {}.",
+                                key.role(), key.userId(), bucket.validUntil());
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<BookingResponseDto> get(Role role, Long userId, State state, int from, int size,
+                                        Function<Long, LocalDateTime> nextTransition,
+                                        Supplier<List<BookingResponseDto>> loader) {
+        boolean timeDependent = TIME_DEPENDENT_STATES.contains(state);
+        Bucket bucket = cache.get(new BucketKey(role, userId, timeDependent), key -> new Bucket(
+                timeDependent ? nextTransition.apply(userId) : null, new ConcurrentHashMap<>()));
+        PageKey pageKey = new PageKey(state, from, size);
+        List<BookingResponseDto> page = bucket.pages().get(pageKey);
+        if (page != null) {
+            return page;
+        }
+        page = List.copyOf(loader.get());
+        if (bucket.pages().size() < maximumPagesPerBucket) {
+            bucket.pages().putIfAbsent(pageKey, page);
+        }
+        return page;
+    }
+
+    public void evict(Role role, Long userId) {
+        invalidate(role, userId);
+        TransactionCallbacks.afterCompletion(() -> invalidate(role, userId));
+        log.debug("Списки бронирований {} ID {} удалены из кэша.", role, userId);
+    }
+
+    private void invalidate(Role role, Long userId) {
+        cache.invalidate(new BucketKey(role, userId, false));
+        cache.invalidate(new BucketKey(role, userId, true));
+    }
+
+    private long untilTransition(Bucket bucket, Duration maximum) {
+        if (bucket.validUntil() == null) {
+            return maximum.toNanos();
+        }
+        Duration untilTransition = Duration.between(LocalDateTime.now(clock), bucket.validUntil());
+        if (untilTransition.isNegative()) {
+            return 0;
+        }
+        return untilTransition.compareTo(maximum) < 0 ? untilTransition.toNanos() : maximum.toNanos();
+    }
+}
@@ -1,13 +1,20 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
@@ -16,14 +23,28 @@ public class BookingController {
 
     @GetMapping
     public List<BookingResponseDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                    @RequestParam(value = "state", required = false, defaultValue = "ALL") String state) {
-        return bookingService.getUserBookings(userId, state);
+                                                    @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(defaultValue = "10") Integer size) {
+        return bookingService.getUserBookings(userId, state, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingResponseDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(value = "state", required = false, defaultValue = "ALL") String state) {
-        return bookingService.getOwnerBookings(userId, state);
+                                                     @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
+                                                     @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(defaultValue = "10") Integer size) {
+        return bookingService.getOwnerBookings(userId, state, from, size);
+    }
+
+    @GetMapping("/counts")
+    public BookingStateCountsDto getUserBookingCounts(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getUserBookingCounts(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public BookingStateCountsDto getOwnerBookingCounts(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerBookingCounts(userId);
     }
 
     @GetMapping("/{bookingId}")
@@ -44,4 +65,10 @@ public class BookingController {
                                             @RequestParam Boolean approved) {
         return bookingService.updateBooking(bookingId, userId, approved);
     }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> updateBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestBody BookingBatchRequestDto requestDto) {
+        return bookingService.updateBookings(userId, requestDto);
+    }
 }
@@ -19,4 +19,9 @@ public class BookingResponseDto {
     private StatusBooking status;
     private ItemShortDto item;
     private UserShortDto booker;
+
+    public BookingResponseDto(Long id, LocalDateTime start, LocalDateTime end, StatusBooking status,
+                              Long itemId, String itemName, Long bookerId, String bookerName) {
+        this(id, start, end, status, new ItemShortDto(itemId, itemName), new UserShortDto(bookerId, bookerName));
+    }
 }
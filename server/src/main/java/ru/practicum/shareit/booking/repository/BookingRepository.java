@@ -1,44 +1,135 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.StatusBooking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String BOOKING_RESPONSE = "select new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+                              "b.id, b.start, b.end, b.status, i.id, i.name, u.id, u.name) " +
+                              "from Booking b join b.item i join b.booker u ";
+    String BOOKING_STATE_COUNTS = "select new ru.practicum.shareit.booking.dto.BookingStateCountsDto(count(b), " +
+                                  "coalesce(sum(case when b.start < ?2 and b.end > ?2 then 1 else 0 end), 0L), " +
+                                  "coalesce(sum(case when b.end < ?2 then 1 else 0 end), 0L), " +
+                                  "coalesce(sum(case when b.start > ?2 then 1 else 0 end), 0L), " +
+                                  "coalesce(sum(case when b.status = ru.practicum.shareit.enums.StatusBooking.WAITING " +
+                                  "then 1 else 0 end), 0L), " +
+                                  "coalesce(sum(case when b.status = ru.practicum.shareit.enums.StatusBooking.REJECTED " +
+                                  "then 1 else 0 end), 0L)) " +
+                                  "from Booking b ";
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
     List<Booking> findByBooker_IdAndItem_IdAndEndBeforeAndStatusEquals(Long bookerId, Long itemId, LocalDateTime now, StatusBooking status);
 
-    List<Booking> findByItem_IdInAndStatusEqualsOrderByStartAsc(List<Long> itemIds, StatusBooking status);
+    @Query("select b from Booking b " +
+           "where b.item.id in ?1 and b.status = ?2 and (" +
+           "(b.end < ?3 and b.end = (select max(l.end) from Booking l " +
+           "where l.item = b.item and l.status = ?2 and l.end < ?3)) " +
+           "or (b.start > ?3 and b.start = (select min(n.start) from Booking n " +
+           "where n.item = b.item and n.status = ?2 and n.start > ?3)) " +
+           "or (b.start <= ?3 and b.end >= ?3))")
+    List<Booking> findLastNextAndCurrentByItemIds(Collection<Long> itemIds, StatusBooking status, LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findByIdAndItem_Owner_Id(Long id, Long ownerId);
 
-    Optional<Booking> findTopByItem_IdAndEndBeforeAndStatusEqualsOrderByEndDesc(Long itemId, LocalDateTime now, StatusBooking status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3 " +
+           "where b.id = ?1 and b.status = ru.practicum.shareit.enums.StatusBooking.WAITING " +
+           "and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+    int updateWaitingStatus(Long bookingId, Long ownerId, StatusBooking status);
 
-    Optional<Booking> findTopByItem_IdAndStartAfterAndStatusEqualsOrderByStartAsc(Long itemId, LocalDateTime now, StatusBooking status);
+    @Query(value = "with updated as (update bookings b set status = ?3 from items i " +
+                   "where b.id = ?1 and b.status = 'WAITING' and b.item_id = i.id and i.owner_id = ?2 " +
+                   "returning b.id, b.start_date, b.end_date, b.status, b.item_id, i.name, b.booker_id) " +
+                   "select u.id as \"id\", u.start_date as \"start\", u.end_date as \"end\", u.status as \"status\", " +
+                   "u.item_id as \"itemId\", u.name as \"itemName\", u.booker_id as \"bookerId\", " +
+                   "us.name as \"bookerName\" " +
+                   "from updated u join users us on us.id = u.booker_id", nativeQuery = true)
+    Optional<UpdatedBooking> updateWaitingStatusReturning(Long bookingId, Long ownerId, String status);
 
-    Optional<Booking> findByIdAndItem_Owner_Id(Long id, Long ownerId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b " +
+           "where b.id in ?1 and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+    List<Booking> findAllOwnedForUpdate(Collection<Long> bookingIds, Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?2 " +
+           "where b.id in ?1 and b.status = ru.practicum.shareit.enums.StatusBooking.WAITING")
+    int updateWaitingStatuses(Collection<Long> bookingIds, StatusBooking status);
+
+    Optional<Booking> findFirstByItem_IdAndStartBeforeOrderByStartDesc(Long itemId, LocalDateTime end);
+
+    @Query("select min(case when b.start >= ?2 then b.start else b.end end) from Booking b " +
+           "where b.booker.id = ?1 and b.end >= ?2")
+    LocalDateTime findNextTransitionByBookerId(Long bookerId, LocalDateTime now);
+
+    @Query("select min(case when b.start >= ?2 then b.start else b.end end) from Booking b " +
+           "where b.item.id in (select i.id from Item i where i.owner.id = ?1) and b.end >= ?2")
+    LocalDateTime findNextTransitionByOwnerId(Long ownerId, LocalDateTime now);
+
+    @Query("select distinct b.booker.id from Booking b where b.item.id = ?1")
+    List<Long> findBookerIdsByItemId(Long itemId);
+
+    @Query("select distinct b.booker.id from Booking b where b.item.owner.id = ?1")
+    List<Long> findBookerIdsByOwnerId(Long ownerId);
+
+    @Query("select distinct b.item.owner.id from Booking b where b.booker.id = ?1")
+    List<Long> findOwnerIdsByBookerId(Long bookerId);
+
+    @Query("select distinct b.item.id from Booking b where b.booker.id = ?1")
+    List<Long> findItemIdsByBookerId(Long bookerId);
+
+    @Query(BOOKING_STATE_COUNTS + "where b.booker.id = ?1")
+    BookingStateCountsDto countStatesByBookerId(Long bookerId, LocalDateTime now);
 
-    List<Booking> findByItem_IdAndEndAfterAndStartBefore(Long bookerId, LocalDateTime end, LocalDateTime start);
+    @Query(BOOKING_STATE_COUNTS + "join b.item i where i.owner.id = ?1")
+    BookingStateCountsDto countStatesByOwnerId(Long ownerId, LocalDateTime now);
 
-    List<Booking> findByBooker_IdOrderByStartDesc(Long bookerId);
+    @Query(BOOKING_RESPONSE + "where u.id = ?1 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findResponsesByBookerId(Long bookerId, Pageable pageable);
 
-    List<Booking> findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime start, LocalDateTime end);
+    @Query(BOOKING_RESPONSE + "where u.id = ?1 and b.start < ?2 and b.end > ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findCurrentResponsesByBookerId(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByBooker_IdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now);
+    @Query(BOOKING_RESPONSE + "where u.id = ?1 and b.end < ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findPastResponsesByBookerId(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByBooker_IdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime now);
+    @Query(BOOKING_RESPONSE + "where u.id = ?1 and b.start > ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findFutureResponsesByBookerId(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByBooker_IdAndStatusEqualsOrderByStartDesc(Long bookerId, StatusBooking status);
+    @Query(BOOKING_RESPONSE + "where u.id = ?1 and b.status = ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findResponsesByBookerIdAndStatus(Long bookerId, StatusBooking status, Pageable pageable);
 
-    List<Booking> findByItem_OwnerIdOrderByStartDesc(Long ownerId);
+    @Query(BOOKING_RESPONSE + "where i.owner.id = ?1 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findResponsesByOwnerId(Long ownerId, Pageable pageable);
 
-    List<Booking> findByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end);
+    @Query(BOOKING_RESPONSE + "where i.owner.id = ?1 and b.start < ?2 and b.end > ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findCurrentResponsesByOwnerId(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByItem_OwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime now);
+    @Query(BOOKING_RESPONSE + "where i.owner.id = ?1 and b.end < ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findPastResponsesByOwnerId(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByItem_OwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime now);
+    @Query(BOOKING_RESPONSE + "where i.owner.id = ?1 and b.start > ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findFutureResponsesByOwnerId(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByItem_OwnerIdAndStatusEqualsOrderByStartDesc(Long ownerId, StatusBooking status);
+    @Query(BOOKING_RESPONSE + "where i.owner.id = ?1 and b.status = ?2 order by b.start desc, b.id desc")
+    List<BookingResponseDto> findResponsesByOwnerIdAndStatus(Long ownerId, StatusBooking status, Pageable pageable);
 
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.enums.StatusBooking;
+
+import java.util.Optional;
+
+public interface BookingStatusUpdater {
+
+    /**
+     * Переводит бронирование из статуса WAITING в {@code status}, если вещь принадлежит {@code ownerId}.
+     * Пустой результат означает, что бронирование не найдено, чужое или уже рассмотрено.
+     */
+    Optional<BookingResponseDto> updateWaitingStatus(Long bookingId, Long ownerId, StatusBooking status);
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.enums.StatusBooking;
+
+import java.util.Optional;
+
+/**
+ * Смена статуса за один запрос: UPDATE … RETURNING в CTE сразу возвращает данные для ответа,
+ * отдельно читать обновленное бронирование не нужно.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class PostgresBookingStatusUpdater implements BookingStatusUpdater {
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public Optional<BookingResponseDto> updateWaitingStatus(Long bookingId, Long ownerId, StatusBooking status) {
+        return bookingRepository.updateWaitingStatusReturning(bookingId, ownerId, status.name())
+                .map(updated -> new BookingResponseDto(updated.getId(), updated.getStart(), updated.getEnd(),
+                        updated.getStatus(), updated.getItemId(), updated.getItemName(), updated.getBookerId(),
+                        updated.getBookerName()));
+    }
+}
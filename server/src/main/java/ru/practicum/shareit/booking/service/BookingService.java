@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 
 import java.util.List;
 
@@ -12,8 +15,14 @@ public interface BookingService {
 
     BookingResponseDto updateBooking(Long bookingId, Long ownerId, Boolean approved);
 
-    List<BookingResponseDto> getUserBookings(Long bookerId, String state);
+    List<BookingBatchResultDto> updateBookings(Long ownerId, BookingBatchRequestDto requestDto);
 
-    List<BookingResponseDto> getOwnerBookings(Long ownerId, String state);
+    List<BookingResponseDto> getUserBookings(Long bookerId, String state, Integer from, Integer size);
+
+    List<BookingResponseDto> getOwnerBookings(Long ownerId, String state, Integer from, Integer size);
+
+    BookingStateCountsDto getUserBookingCounts(Long bookerId);
+
+    BookingStateCountsDto getOwnerBookingCounts(Long ownerId);
 }
 
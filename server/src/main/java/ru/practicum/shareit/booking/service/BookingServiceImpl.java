@@ -1,14 +1,21 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.cache.BookingListCache;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingStatusUpdater;
 import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.enums.StatusBooking;
 import ru.practicum.shareit.exception.AccessDeniedException;
@@ -16,29 +23,43 @@ import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.cache.ItemBookingSummaryCache;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Timed(value = "shareit.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository repository;
+    private final BookingStatusUpdater bookingStatusUpdater;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ItemBookingSummaryCache bookingSummaryCache;
+    private final BookingListCache bookingListCache;
+    private final Clock clock;
 
 
     @Override
     public BookingResponseDto getBookingById(Long bookingId, Long userId) {
         log.info("Получение бронирования по ID: {}", bookingId);
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new NotFoundException("Пользователь с id " + userId + " не найден");
         }
         Booking booking = repository.findById(bookingId)
@@ -55,7 +76,7 @@ public class BookingServiceImpl implements BookingService {
         log.info("Добавление нового бронирования для пользователя с ID " + userId);
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
-        Item item = itemRepository.findById(requestDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(requestDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + requestDto.getItemId() + " не найдена."));
         if (booker.getId().equals(item.getOwner().getId())) {
             throw new BadRequestException("Владелец вещи не может бронировать свою же вещь!");
@@ -66,14 +87,20 @@ public class BookingServiceImpl implements BookingService {
         if (requestDto.getEnd().isBefore(requestDto.getStart()) || requestDto.getEnd().isEqual(requestDto.getStart())) {
             throw new BadRequestException("Дата окончания бронирования не может быть раньше или равна дате начала.");
         }
-        List<Booking> existingBookings = repository.findByItem_IdAndEndAfterAndStartBefore(
-                item.getId(), requestDto.getStart(), requestDto.getEnd()
-        );
-        if (!existingBookings.isEmpty()) {
-            throw new ConflictException("Вещь уже забронирована на эти даты.");
+        // Инвариант: бронирования одной вещи в любом статусе не пересекаются. Его держат эта проверка
+        // под блокировкой вещи и ограничение ex_booking_item_period в PostgreSQL. Поэтому пересечься
+        // с новым может только последнее из начавшихся до его окончания.
+        Optional<Booking> overlappingBooking = repository.findFirstByItem_IdAndStartBeforeOrderByStartDesc(
+                        item.getId(), requestDto.getEnd())
+                .filter(previous -> previous.getEnd().isAfter(requestDto.getStart()));
+        if (overlappingBooking.isPresent()) {
+            throw new ConflictException("Вещь уже забронирована на эти даты. Пересечение с бронированием с "
+                                        + overlappingBooking.get().getStart() + " по " + overlappingBooking.get().getEnd() + ".");
         }
         Booking booking = bookingMapper.toBooking(requestDto, item, booker);
         Booking savedBooking = repository.save(booking);
+        bookingListCache.evict(BookingListCache.Role.BOOKER, booker.getId());
+        bookingListCache.evict(BookingListCache.Role.OWNER, item.getOwner().getId());
         log.info("Бронирование произведено: {}", savedBooking);
         return bookingMapper.toBookingResponseDto(savedBooking);
     }
@@ -81,23 +108,65 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingResponseDto updateBooking(Long bookingId, Long userId, Boolean approved) {
-        Booking booking = repository.findByIdAndItem_Owner_Id(bookingId, userId)
-                .orElseThrow(() -> new BadRequestException("Бронирование не найдено или доступ запрещен"));
-        if (!booking.getStatus().equals(StatusBooking.WAITING)) {
+        StatusBooking status = approved ? StatusBooking.APPROVED : StatusBooking.REJECTED;
+        Optional<BookingResponseDto> updated = bookingStatusUpdater.updateWaitingStatus(bookingId, userId, status);
+        if (updated.isEmpty()) {
+            repository.findByIdAndItem_Owner_Id(bookingId, userId)
+                    .orElseThrow(() -> new BadRequestException("Бронирование не найдено или доступ запрещен"));
             throw new BadRequestException("Бронирование можно подтвердить только в статусе ожидания.");
         }
-        if (approved) {
-            booking.setStatus(StatusBooking.APPROVED);
-        } else {
-            booking.setStatus(StatusBooking.REJECTED);
+        BookingResponseDto updatedBooking = updated.get();
+        bookingSummaryCache.evict(updatedBooking.getItem().getId());
+        bookingListCache.evict(BookingListCache.Role.BOOKER, updatedBooking.getBooker().getId());
+        bookingListCache.evict(BookingListCache.Role.OWNER, userId);
+        return updatedBooking;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> updateBookings(Long ownerId, BookingBatchRequestDto requestDto) {
+        log.info("Пакетное обновление {} бронирований владельцем ID {}, approved={}",
+                requestDto.getBookingIds().size(), ownerId, requestDto.getApproved());
+        StatusBooking status = requestDto.getApproved() ? StatusBooking.APPROVED : StatusBooking.REJECTED;
+        Set<Long> bookingIds = new LinkedHashSet<>(requestDto.getBookingIds());
+        List<Booking> owned = repository.findAllOwnedForUpdate(bookingIds, ownerId);
+        Map<Long, StatusBooking> ownedStatuses = owned.stream()
+                .collect(Collectors.toMap(Booking::getId, Booking::getStatus));
+        List<Booking> waiting = owned.stream()
+                .filter(booking -> booking.getStatus() == StatusBooking.WAITING)
+                .toList();
+        if (!waiting.isEmpty()) {
+            repository.updateWaitingStatuses(waiting.stream().map(Booking::getId).toList(), status);
+            waiting.stream()
+                    .map(booking -> booking.getItem().getId())
+                    .distinct()
+                    .forEach(bookingSummaryCache::evict);
+            waiting.stream()
+                    .map(booking -> booking.getBooker().getId())
+                    .distinct()
+                    .forEach(bookerId -> bookingListCache.evict(BookingListCache.Role.BOOKER, bookerId));
+            bookingListCache.evict(BookingListCache.Role.OWNER, ownerId);
         }
-        Booking savedBooking = repository.save(booking);
-        return bookingMapper.toBookingResponseDto(savedBooking);
+
+        return bookingIds.stream()
+                .map(bookingId -> {
+                    StatusBooking current = ownedStatuses.get(bookingId);
+                    if (current == null) {
+                        return new BookingBatchResultDto(bookingId, false, null,
+                                "Бронирование не найдено или доступ запрещен");
+                    }
+                    if (current != StatusBooking.WAITING) {
+                        return new BookingBatchResultDto(bookingId, false, current,
+                                "Бронирование можно подтвердить только в статусе ожидания.");
+                    }
+                    return new BookingBatchResultDto(bookingId, true, status, null);
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingResponseDto> getUserBookings(Long bookerId, String stringState) {
-        if (!userRepository.existsById(bookerId)) {
+    public List<BookingResponseDto> getUserBookings(Long bookerId, String stringState, Integer from, Integer size) {
+        if (!userExistenceCache.exists(bookerId)) {
             throw new NotFoundException("Пользователь с id " + bookerId + " не найден");
         }
         State state;
@@ -107,77 +176,105 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Неверный параметр state: " + stringState);
         }
 
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
+        return bookingListCache.get(BookingListCache.Role.BOOKER, bookerId, state, from, size,
+                id -> repository.findNextTransitionByBookerId(id, LocalDateTime.now(clock)),
+                () -> loadUserBookings(bookerId, state, from, size));
+    }
+
+    @Override
+    public List<BookingResponseDto> getOwnerBookings(Long userId, String stringState, Integer from, Integer size) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь с id " + userId + " не найден");
+        }
+        State state;
+        try {
+            state = State.valueOf(stringState.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Неверный параметр state: " + stringState);
+        }
+
+        return bookingListCache.get(BookingListCache.Role.OWNER, userId, state, from, size,
+                id -> repository.findNextTransitionByOwnerId(id, LocalDateTime.now(clock)),
+                () -> loadOwnerBookings(userId, state, from, size));
+    }
+
+    @Override
+    public BookingStateCountsDto getUserBookingCounts(Long bookerId) {
+        log.info("Подсчет бронирований по состояниям для пользователя ID {}", bookerId);
+        if (!userExistenceCache.exists(bookerId)) {
+            throw new NotFoundException("Пользователь с id " + bookerId + " не найден");
+        }
+        return repository.countStatesByBookerId(bookerId, LocalDateTime.now(clock));
+    }
+
+    @Override
+    public BookingStateCountsDto getOwnerBookingCounts(Long ownerId) {
+        log.info("Подсчет бронирований по состояниям для владельца ID {}", ownerId);
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new NotFoundException("Пользователь с id " + ownerId + " не найден");
+        }
+        return repository.countStatesByOwnerId(ownerId, LocalDateTime.now(clock));
+    }
+
+    private List<BookingResponseDto> loadUserBookings(Long bookerId, State state, Integer from, Integer size) {
+        List<BookingResponseDto> bookings;
+        LocalDateTime now = LocalDateTime.now(clock);
+        Pageable pageable = OffsetPageRequest.of(from, size);
 
         switch (state) {
             case ALL:
-                bookings = repository.findByBooker_IdOrderByStartDesc(bookerId);
+                bookings = repository.findResponsesByBookerId(bookerId, pageable);
                 break;
             case CURRENT:
-                bookings = repository.findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId, now, now);
+                bookings = repository.findCurrentResponsesByBookerId(bookerId, now, pageable);
                 break;
             case PAST:
-                bookings = repository.findByBooker_IdAndEndBeforeOrderByStartDesc(bookerId, now);
+                bookings = repository.findPastResponsesByBookerId(bookerId, now, pageable);
                 break;
             case FUTURE:
-                bookings = repository.findByBooker_IdAndStartAfterOrderByStartDesc(bookerId, now);
+                bookings = repository.findFutureResponsesByBookerId(bookerId, now, pageable);
                 break;
             case WAITING:
-                bookings = repository.findByBooker_IdAndStatusEqualsOrderByStartDesc(bookerId, StatusBooking.WAITING);
+                bookings = repository.findResponsesByBookerIdAndStatus(bookerId, StatusBooking.WAITING, pageable);
                 break;
             case REJECTED:
-                bookings = repository.findByBooker_IdAndStatusEqualsOrderByStartDesc(bookerId, StatusBooking.REJECTED);
+                bookings = repository.findResponsesByBookerIdAndStatus(bookerId, StatusBooking.REJECTED, pageable);
                 break;
             default:
-                throw new BadRequestException("Неверный параметр state: " + stringState);
+                throw new BadRequestException("Неверный параметр state: " + state);
         }
 
-        return bookings.stream()
-                .map(bookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+        return bookings;
     }
 
-    @Override
-    public List<BookingResponseDto> getOwnerBookings(Long userId, String stringState) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь с id " + userId + " не найден");
-        }
-        State state;
-        try {
-            state = State.valueOf(stringState.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Неверный параметр state: " + stringState);
-        }
-
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
+    private List<BookingResponseDto> loadOwnerBookings(Long userId, State state, Integer from, Integer size) {
+        List<BookingResponseDto> bookings;
+        LocalDateTime now = LocalDateTime.now(clock);
+        Pageable pageable = OffsetPageRequest.of(from, size);
 
         switch (state) {
             case ALL:
-                bookings = repository.findByItem_OwnerIdOrderByStartDesc(userId);
+                bookings = repository.findResponsesByOwnerId(userId, pageable);
                 break;
             case CURRENT:
-                bookings = repository.findByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now);
+                bookings = repository.findCurrentResponsesByOwnerId(userId, now, pageable);
                 break;
             case PAST:
-                bookings = repository.findByItem_OwnerIdAndEndBeforeOrderByStartDesc(userId, now);
+                bookings = repository.findPastResponsesByOwnerId(userId, now, pageable);
                 break;
             case FUTURE:
-                bookings = repository.findByItem_OwnerIdAndStartAfterOrderByStartDesc(userId, now);
+                bookings = repository.findFutureResponsesByOwnerId(userId, now, pageable);
                 break;
             case WAITING:
-                bookings = repository.findByItem_OwnerIdAndStatusEqualsOrderByStartDesc(userId, StatusBooking.WAITING);
+                bookings = repository.findResponsesByOwnerIdAndStatus(userId, StatusBooking.WAITING, pageable);
                 break;
             case REJECTED:
-                bookings = repository.findByItem_OwnerIdAndStatusEqualsOrderByStartDesc(userId, StatusBooking.REJECTED);
+                bookings = repository.findResponsesByOwnerIdAndStatus(userId, StatusBooking.REJECTED, pageable);
                 break;
             default:
-                throw new BadRequestException("Неверный параметр state: " + stringState);
+                throw new BadRequestException("Неверный параметр state: " + state);
         }
 
-        return bookings.stream()
-                .map(bookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+        return bookings;
     }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.util.List;
+
+@Value
+public class CachedItemDetails {
+    Long id;
+    Long ownerId;
+    String name;
+    String description;
+    Boolean available;
+    List<CommentDto> comments;
+}
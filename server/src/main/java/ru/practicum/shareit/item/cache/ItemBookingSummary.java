@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemBookingSummary {
+    BookingItemDto lastBooking;
+    BookingItemDto nextBooking;
+    LocalDateTime validUntil;
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ItemBookingSummaryCache {
+    private static final String CACHE_NAME = "itemBookingSummary";
+
+    private final Clock clock;
+    private final Cache<Long, ItemBookingSummary> cache;
+
+    public ItemBookingSummaryCache(MeterRegistry meterRegistry,
+                                   Clock clock,
+                                   Ticker ticker,
+                                   @Value("${shareit.cache.item-booking-summary.maximum-size:10000}") long maximumSize,
+                                   @Value("${shareit.cache.item-booking-summary.expire-after-write:1h}") Duration expireAfterWrite) {
+        this.clock = clock;
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, ItemBookingSummary>() {
+                    @Override
+                    public long expireAfterCreate(Long itemId, ItemBookingSummary summary, long currentTime) {
+                        return untilRollover(summary, expireAfterWrite);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long itemId, ItemBookingSummary summary, long currentTime,
+                                                  long currentDuration) {
+                        return untilRollover(summary, expireAfterWrite);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long itemId, ItemBookingSummary summary, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ItemBookingSummary get(Long itemId, Function<Long, ItemBookingSummary> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public Map<Long, ItemBookingSummary> getAll(Collection<Long> itemIds,
+                                                Function<Set<? extends Long>, Map<Long, ItemBookingSummary>> loader) {
+        return cache.getAll(itemIds, loader);
+    }
+
+    public void evict(Long itemId) {
+        cache.invalidate(itemId);
+        TransactionCallbacks.afterCompletion(() -> cache.invalidate(itemId));
+        log.debug("Сводка бронирований вещи ID {} удалена из кэша.", itemId);
+    }
+
+    private long untilRollover(ItemBookingSummary summary, Duration maximum) {
+        if (summary.getValidUntil() == null) {
+            return maximum.toNanos();
+        }
+        Duration untilRollover = Duration.between(LocalDateTime.now(clock), summary.getValidUntil());
+        if (untilRollover.isNegative()) {
+            return 0;
+        }
+        return untilRollover.compareTo(maximum) < 0 ? untilRollover.toNanos() : maximum.toNanos();
+    }
+}
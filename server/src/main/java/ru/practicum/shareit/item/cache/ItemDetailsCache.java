@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ItemDetailsCache {
+    private static final String CACHE_NAME = "itemDetails";
+
+    private final Cache<Long, CachedItemDetails> cache;
+
+    public ItemDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${shareit.cache.item-details.maximum-size:10000}") long maximumSize,
+                            @Value("${shareit.cache.item-details.expire-after-write:10m}") Duration expireAfterWrite) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CachedItemDetails get(Long itemId, Function<Long, CachedItemDetails> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void evict(Long itemId) {
+        cache.invalidate(itemId);
+        TransactionCallbacks.afterCompletion(() -> cache.invalidate(itemId));
+        log.debug("Вещь ID {} удалена из кэша.", itemId);
+    }
+}
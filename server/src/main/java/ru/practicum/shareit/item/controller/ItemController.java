@@ -48,7 +48,13 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemSimpleDto> searchItems(@RequestParam String text) {
+    public List<ItemSimpleDto> searchItems(@RequestParam String text,
+                                           @RequestParam(defaultValue = "false") Boolean ranked,
+                                           @RequestParam(defaultValue = "0") Integer from,
+                                           @RequestParam(defaultValue = "10") Integer size) {
+        if (ranked) {
+            return itemService.searchItemsRanked(text, from, size);
+        }
         return itemService.searchItems(text);
     }
 }
\ No newline at end of file
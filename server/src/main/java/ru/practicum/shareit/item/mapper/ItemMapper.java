@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.item.cache.CachedItemDetails;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
@@ -38,6 +39,15 @@ public interface ItemMapper {
                                     BookingItemDto nextBooking,
                                     List<CommentDto> comments);
 
+    @Mapping(source = "item.id", target = "id")
+    @Mapping(source = "item.owner.id", target = "ownerId")
+    CachedItemDetails toCachedItemDetails(Item item, List<CommentDto> comments);
+
+    @Mapping(source = "item.id", target = "id")
+    ItemDetailsDto toItemBookingDto(CachedItemDetails item,
+                                    BookingItemDto lastBooking,
+                                    BookingItemDto nextBooking);
+
     ItemSimpleDto toItemResponseDto(Item item);
 
     @Mapping(source = "item.owner.id",target = "ownerId")
@@ -1,21 +1,46 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String SEARCH_VECTOR = "(setweight(to_tsvector('simple', i.name), 'A') " +
+                           "|| setweight(to_tsvector('simple', i.description), 'B'))";
+
     List<Item> findByOwnerId(Long ownerId);
 
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
     List<Item> findByRequest_IdIn(Set<Long> requestIds);
 
     List<Item> findByRequest_Id(Long requestId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
     @Query(" select i from Item i " +
            "where i.available = true and (upper(i.name) like concat('%', ?1, '%') " +
            " or upper(i.description) like concat('%', ?1, '%'))")
     List<Item> search(String text);
+
+    @Query(value = "select * from items i " +
+                   "where i.is_available = true and (i.name ilike concat('%', ?1, '%') " +
+                   " or i.description ilike concat('%', ?1, '%')) " +
+                   "order by i.id", nativeQuery = true)
+    List<Item> searchSubstring(String text);
+
+    @Query(value = "select i.* from items i " +
+                   "where i.is_available = true and " + SEARCH_VECTOR + " @@ to_tsquery('simple', ?1) " +
+                   "order by ts_rank(" + SEARCH_VECTOR + ", to_tsquery('simple', ?1)) desc, i.id " +
+                   "limit ?3 offset ?2", nativeQuery = true)
+    List<Item> searchRanked(String query, int from, int size);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    void index(Item item);
+
+    List<Item> searchSubstring(String text);
+
+    List<Item> searchRanked(String text, int from, int size);
+}
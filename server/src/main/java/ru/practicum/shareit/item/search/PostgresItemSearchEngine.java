@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск средствами PostgreSQL: подстрока через ILIKE по GIN-индексам pg_trgm,
+ * ранжированный поиск по префиксам слов через tsvector. Индексы обновляет сама база
+ * вместе с транзакцией, поэтому {@link #index(Item)} ничего не делает.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public List<Item> searchSubstring(String text) {
+        return itemRepository.searchSubstring(text);
+    }
+
+    @Override
+    public List<Item> searchRanked(String text, int from, int size) {
+        List<String> terms = SearchTerms.tokenize(text);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String query = terms.stream()
+                .map(term -> term.toLowerCase(Locale.ROOT) + ":*")
+                .collect(Collectors.joining(" & "));
+        return itemRepository.searchRanked(query, from, size);
+    }
+}
@@ -18,5 +18,7 @@ public interface ItemService {
 
     List<ItemSimpleDto> searchItems(String text);
 
+    List<ItemSimpleDto> searchItemsRanked(String text, Integer from, Integer size);
+
     CommentDto addComment(Long itemId, Long userId, CommentDto commentDto);
 }
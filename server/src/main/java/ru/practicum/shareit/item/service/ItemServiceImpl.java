@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.cache.BookingListCache;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
@@ -11,6 +13,10 @@ import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.enums.StatusBooking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.CachedItemDetails;
+import ru.practicum.shareit.item.cache.ItemBookingSummary;
+import ru.practicum.shareit.item.cache.ItemBookingSummaryCache;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -18,27 +24,35 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import ru.practicum.shareit.exception.AccessDeniedException;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Timed(value = "shareit.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
@@ -46,6 +60,11 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchEngine searchEngine;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemBookingSummaryCache bookingSummaryCache;
+    private final BookingListCache bookingListCache;
+    private final Clock clock;
 
     @Override
     @Transactional
@@ -70,6 +89,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("Созданная сущность Item перед сохранением: {}", item); // Посмотрите, есть ли тут request
         Item savedItem = itemRepository.save(item);
         log.info("Вещь добавлена: {}", savedItem); // Посмотрите, сохранился ли request в savedItem
+        searchEngine.index(savedItem);
         return itemMapper.toItemDto(savedItem, null, null);
     }
 
@@ -77,7 +97,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public ItemOwnerViewDto updateItem(Long ownerId, Long itemId, ItemOwnerViewDto itemDto) {
         log.info("Обновление вещи ID {} для пользователя ID {}: {}", itemId, ownerId, itemDto.getName());
-        if (!userRepository.existsById(ownerId)) {
+        if (!userExistenceCache.exists(ownerId)) {
             throw new NotFoundException("Пользователь с id " + ownerId + " не найден");
         }
         Item existingItem = itemRepository.findById(itemId)
@@ -85,51 +105,39 @@ public class ItemServiceImpl implements ItemService {
         if (!existingItem.getOwner().getId().equals(ownerId)) {
             throw new AccessDeniedException("Редактировать может только владелец вещи.");
         }
+        String oldName = existingItem.getName();
         itemMapper.updateFromDto(existingItem, itemDto);
         Item updatedItem = itemRepository.save(existingItem);
         log.info("Вещь обновлена: {}", updatedItem);
+        searchEngine.index(updatedItem);
+        itemDetailsCache.evict(itemId);
+        if (!oldName.equals(updatedItem.getName())) {
+            bookingListCache.evict(BookingListCache.Role.OWNER, ownerId);
+            bookingRepository.findBookerIdsByItemId(itemId)
+                    .forEach(bookerId -> bookingListCache.evict(BookingListCache.Role.BOOKER, bookerId));
+        }
         return itemMapper.toItemDto(updatedItem, null, null);
     }
 
     @Override
     public ItemDetailsDto getItemById(Long itemId, Long requesterId) {
         log.info("Получение вещи по ID: {}", itemId);
-        if (!userRepository.existsById(requesterId)) {
+        if (!userExistenceCache.exists(requesterId)) {
             throw new NotFoundException("Пользователь с id " + requesterId + " не найден");
         }
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена."));
-
-        List<Comment> comments = commentRepository.findAllByItem_Id(itemId);
-        List<CommentDto> commentDto = comments.stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList());
-
-        BookingItemDto lastBookingDto = null;
-        BookingItemDto nextBookingDto = null;
-
-        if (item.getOwner().getId().equals(requesterId)) {
-            LocalDateTime now = LocalDateTime.now();
+        CachedItemDetails item = itemDetailsCache.get(itemId, this::loadItemDetails);
 
-            Optional<Booking> lastBooking = bookingRepository.findTopByItem_IdAndEndBeforeAndStatusEqualsOrderByEndDesc(
-                    itemId, now, StatusBooking.APPROVED);
-            if (lastBooking.isPresent()) {
-                lastBookingDto = bookingMapper.toBookingItemDto(lastBooking.get());
-            }
-
-            Optional<Booking> nextBooking = bookingRepository.findTopByItem_IdAndStartAfterAndStatusEqualsOrderByStartAsc(
-                    itemId, now, StatusBooking.APPROVED);
-            if (nextBooking.isPresent()) {
-                nextBookingDto = bookingMapper.toBookingItemDto(nextBooking.get());
-            }
+        if (!item.getOwnerId().equals(requesterId)) {
+            return itemMapper.toItemBookingDto(item, null, null);
         }
-        return itemMapper.toItemBookingDto(item, lastBookingDto, nextBookingDto, commentDto);
+        ItemBookingSummary summary = bookingSummaryCache.get(itemId, this::loadBookingSummary);
+        return itemMapper.toItemBookingDto(item, summary.getLastBooking(), summary.getNextBooking());
     }
 
     @Override
     public List<ItemOwnerViewDto> getAllItemsByOwner(Long ownerId) {
         log.info("Получение всех вещей для владельца ID: {}", ownerId);
-        if (!userRepository.existsById(ownerId)) {
+        if (!userExistenceCache.exists(ownerId)) {
             throw new NotFoundException("Пользователь с id " + ownerId + " не найден");
         }
         List<Item> items = itemRepository.findByOwnerId(ownerId);
@@ -137,14 +145,14 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        LocalDateTime now = LocalDateTime.now();
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
-
-        List<Booking> allApprovedBookingsForOwnersItems = bookingRepository
-                .findByItem_IdInAndStatusEqualsOrderByStartAsc(itemIds, StatusBooking.APPROVED);
+        Map<Long, ItemBookingSummary> summaries = bookingSummaryCache.getAll(itemIds, this::loadBookingSummaries);
 
         return items.stream()
-                .map(item -> mapItemToItemDtoWithBookings(item, allApprovedBookingsForOwnersItems, now))
+                .map(item -> {
+                    ItemBookingSummary summary = summaries.get(item.getId());
+                    return itemMapper.toItemDto(item, summary.getLastBooking(), summary.getNextBooking());
+                })
                 .collect(Collectors.toList());
     }
 
@@ -154,8 +162,18 @@ public class ItemServiceImpl implements ItemService {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
-        List<Item> foundItems = itemRepository.search(text.toUpperCase());
-        return foundItems.stream()
+        return searchEngine.searchSubstring(text).stream()
+                .map(itemMapper::toItemResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemSimpleDto> searchItemsRanked(String text, Integer from, Integer size) {
+        log.info("Ранжированный поиск вещей по тексту: {}, from={}, size={}", text, from, size);
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return searchEngine.searchRanked(text, from, size).stream()
                 .map(itemMapper::toItemResponseDto)
                 .collect(Collectors.toList());
     }
@@ -168,7 +186,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
         List<Booking> bookings = bookingRepository.findByBooker_IdAndItem_IdAndEndBeforeAndStatusEquals(
-                userId, itemId, LocalDateTime.now(), StatusBooking.APPROVED);
+                userId, itemId, LocalDateTime.now(clock), StatusBooking.APPROVED);
         if (bookings.isEmpty()) {
             throw new BadRequestException("Пользователь с ID " + userId +
                                           " не брал вещь с ID " + itemId + " в аренду или срок аренды еще не закончен.");
@@ -176,33 +194,50 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = commentMapper.toComment(commentDto, item, user);
         Comment savedComment = commentRepository.save(comment);
         savedComment.getAuthor().getName();
+        itemDetailsCache.evict(itemId);
         return commentMapper.toCommentDto(savedComment);
     }
 
 
-    private ItemOwnerViewDto mapItemToItemDtoWithBookings(Item item, List<Booking> allApprovedBookings, LocalDateTime now) {
-        BookingItemDto lastBookingDto = null;
-        BookingItemDto nextBookingDto = null;
-
-        List<Booking> itemBookings = allApprovedBookings.stream()
-                .filter(b -> b.getItem().getId().equals(item.getId()))
-                .collect(Collectors.toList());
-
-        Optional<Booking> lastBooking = itemBookings.stream()
-                .filter(b -> b.getEnd().isBefore(now))
-                .max(Comparator.comparing(Booking::getEnd));
+    private CachedItemDetails loadItemDetails(Long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена."));
+        List<CommentDto> comments = commentRepository.findAllByItem_Id(itemId).stream()
+                .map(commentMapper::toCommentDto)
+                .toList();
+        return itemMapper.toCachedItemDetails(item, comments);
+    }
 
-        Optional<Booking> nextBooking = itemBookings.stream()
-                .filter(b -> b.getStart().isAfter(now))
-                .min(Comparator.comparing(Booking::getStart));
+    private ItemBookingSummary loadBookingSummary(Long itemId) {
+        return loadBookingSummaries(Set.of(itemId)).get(itemId);
+    }
 
-        if (lastBooking.isPresent()) {
-            lastBookingDto = bookingMapper.toBookingItemDto(lastBooking.get());
+    private Map<Long, ItemBookingSummary> loadBookingSummaries(Set<? extends Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        Map<Long, LocalDateTime> rollovers = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastNextAndCurrentByItemIds(List.copyOf(itemIds),
+                StatusBooking.APPROVED, now)) {
+            Long itemId = booking.getItem().getId();
+            if (booking.getEnd().isBefore(now)) {
+                lastBookings.putIfAbsent(itemId, booking);
+            } else if (booking.getStart().isAfter(now)) {
+                nextBookings.putIfAbsent(itemId, booking);
+                rollovers.merge(itemId, booking.getStart(), BinaryOperator.minBy(Comparator.naturalOrder()));
+            } else {
+                rollovers.merge(itemId, booking.getEnd(), BinaryOperator.minBy(Comparator.naturalOrder()));
+            }
         }
-        if (nextBooking.isPresent()) {
-            nextBookingDto = bookingMapper.toBookingItemDto(nextBooking.get());
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (Long itemId : itemIds) {
+            summaries.put(itemId, new ItemBookingSummary(toBookingItemDto(lastBookings.get(itemId)),
+                    toBookingItemDto(nextBookings.get(itemId)), rollovers.get(itemId)));
         }
+        return summaries;
+    }
 
-        return itemMapper.toItemDto(item, lastBookingDto, nextBookingDto);
+    private BookingItemDto toBookingItemDto(Booking booking) {
+        return booking == null ? null : bookingMapper.toBookingItemDto(booking);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class EntityLoadListener implements PostLoadEventListener {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    private record CounterKey(String finder, String entity) {
+    }
+
+    public EntityLoadListener(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryStats stats = QueryStats.current();
+        stats.entityLoaded();
+        String entityName = event.getPersister().getEntityName();
+        counters.computeIfAbsent(new CounterKey(stats.finder(), entityName.substring(entityName.lastIndexOf('.') + 1)),
+                        key -> Counter.builder("shareit.sql.entities")
+                                .description("Entities hydrated from SQL result sets")
+                                .tag("finder", key.finder())
+                                .tag("entity", key.entity())
+                                .register(meterRegistry))
+                .increment();
+    }
+}
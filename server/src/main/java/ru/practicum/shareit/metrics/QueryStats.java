@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+final class QueryStats {
+    static final String NO_FINDER = "none";
+
+    private static final ThreadLocal<QueryStats> CURRENT = ThreadLocal.withInitial(QueryStats::new);
+
+    private String finder = NO_FINDER;
+    private int statements;
+    private int entities;
+    private int projectionRows;
+
+    private QueryStats() {
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void reset() {
+        CURRENT.remove();
+    }
+
+    String enterFinder(String finder) {
+        String previous = this.finder;
+        this.finder = finder;
+        return previous;
+    }
+
+    void exitFinder(String previous) {
+        finder = previous;
+    }
+
+    String finder() {
+        return finder;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    void projectionRowsLoaded(int rows) {
+        projectionRows += rows;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    int entities() {
+        return entities;
+    }
+
+    int projectionRows() {
+        return projectionRows;
+    }
+}
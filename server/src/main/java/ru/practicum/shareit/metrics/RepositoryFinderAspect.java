@@ -0,0 +1,68 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Entity;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.Hibernate;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Помечает SQL именем вызванного метода репозитория и считает строки проекций: DTO и скаляры
+ * из коллекций, которые вернул метод, не проходят через POST_LOAD и не видны {@link EntityLoadListener}.
+ */
+@Aspect
+@Component
+public class RepositoryFinderAspect {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RepositoryFinderAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* ru.practicum.shareit..repository.*Repository.*(..))")
+    public Object tagFinder(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryStats stats = QueryStats.current();
+        String finder = finderName(joinPoint);
+        String previous = stats.enterFinder(finder);
+        try {
+            Object result = joinPoint.proceed();
+            countProjectionRows(stats, finder, result);
+            return result;
+        } finally {
+            stats.exitFinder(previous);
+        }
+    }
+
+    private void countProjectionRows(QueryStats stats, String finder, Object result) {
+        if (!(result instanceof Collection<?> rows)) {
+            return;
+        }
+        int projectionRows = (int) rows.stream()
+                .filter(row -> row != null && !Hibernate.getClass(row).isAnnotationPresent(Entity.class))
+                .count();
+        if (projectionRows == 0) {
+            return;
+        }
+        stats.projectionRowsLoaded(projectionRows);
+        counters.computeIfAbsent(finder, name -> Counter.builder("shareit.sql.projections")
+                        .description("Projection rows read from SQL result sets")
+                        .tag("finder", name)
+                        .register(meterRegistry))
+                .increment(projectionRows);
+    }
+
+    private static String finderName(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        Class<?> repository = interfaces.length > 0 ? interfaces[0] : joinPoint.getSignature().getDeclaringType();
+        return repository.getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class SqlStatementInspector implements StatementInspector {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public SqlStatementInspector(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        stats.statementPrepared();
+        counters.computeIfAbsent(stats.finder(), finder -> Counter.builder("shareit.sql.statements")
+                        .description("SQL statements prepared by Hibernate")
+                        .tag("finder", finder)
+                        .register(meterRegistry))
+                .increment();
+        return "/* " + stats.finder() + " */ " + sql;
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -13,6 +15,8 @@ import java.util.List;
 @RequestMapping(path = "/requests")
 @AllArgsConstructor
 public class ItemRequestController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemRequestService service;
 
     @PostMapping
@@ -27,10 +31,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDtoOut> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "10") Integer size) {
-        return service.getAllRequests(userId, from, size);
+    public ResponseEntity<List<ItemRequestDtoOut>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        List<ItemRequestDtoOut> requests = cursor == null
+                ? service.getAllRequests(userId, from, size)
+                : service.getAllRequests(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!requests.isEmpty() && requests.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, ItemRequestCursor.of(requests.get(requests.size() - 1)).encode());
+        }
+        return response.body(requests);
     }
 
     @GetMapping("/{requestId}")
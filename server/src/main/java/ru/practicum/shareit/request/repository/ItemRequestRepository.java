@@ -2,8 +2,10 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -11,4 +13,9 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     List<ItemRequest> findByRequestor_IdOrderByCreatedDesc(Long requestorId);
 
     List<ItemRequest> findByRequestor_IdNotOrderByCreatedDesc(Long requestorId, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+           "where r.requestor.id <> ?1 and (r.created, r.id) < (?2, ?3) " +
+           "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllOtherRequestsAfter(Long requestorId, LocalDateTime created, Long id, Pageable pageable);
 }
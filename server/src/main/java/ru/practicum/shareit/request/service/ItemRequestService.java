@@ -12,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoOut> getAllRequests(Long requestorId,Integer from, Integer size);
 
+    List<ItemRequestDtoOut> getAllRequests(Long requestorId, String cursor, Integer size);
+
     ItemRequestDtoOut getRequestById(Long userId, Long requestId);
 }
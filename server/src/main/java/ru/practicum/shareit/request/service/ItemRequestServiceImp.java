@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -13,25 +14,30 @@ import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Timed(value = "shareit.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImp implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
 
@@ -42,46 +48,65 @@ public class ItemRequestServiceImp implements ItemRequestService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователя с id " + userId + " не существует"));
         ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemRequestDtoIn, user);
-        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         ItemRequest savedItemRequest = repository.save(itemRequest);
         return itemRequestMapper.toItemRequestDtoOut(savedItemRequest, new ArrayList<>());
     }
 
     @Override
     public List<ItemRequestDtoOut> getUserRequests(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователя с id " + userId + " не существует"));
-        List<ItemRequest> requests = repository.findByRequestor_IdOrderByCreatedDesc(userId);
-        if (requests.isEmpty()) {
-            return Collections.emptyList();
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя с id " + userId + " не существует");
         }
-        Set<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toSet());
-        List<Item> allItemsForRequests = itemRepository.findByRequest_IdIn(requestIds);
-        Map<Long, List<ItemRequestResponseDto>> itemsByRequestId = allItemsForRequests.stream()
-                .map(itemMapper::toItemRequestResponseDto)
-                .collect(Collectors.groupingBy(ItemRequestResponseDto::getRequestId));
-        List<ItemRequestDtoOut> result = requests.stream()
-                .map(request -> {
-                    List<ItemRequestResponseDto> itemsForCurrentRequest = itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList());
-                    return itemRequestMapper.toItemRequestDtoOut(request, itemsForCurrentRequest);
-                })
-                .collect(Collectors.toList());
-
+        List<ItemRequest> requests = repository.findByRequestor_IdOrderByCreatedDesc(userId);
+        List<ItemRequestDtoOut> result = toItemRequestDtoOutWithItems(requests);
         log.info("Получены запросы пользователя id={}. Найдено {} запросов.", userId, result.size());
         return result;
     }
 
     @Override
     public List<ItemRequestDtoOut> getAllRequests(Long userId, Integer page, Integer size) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователя с id " + userId + " не существует"));
-        Sort sort = Sort.by(Sort.Direction.DESC, "created");
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя с id " + userId + " не существует");
+        }
+        Sort sort = Sort.by(Sort.Direction.DESC, "created", "id");
         Pageable pageable = PageRequest.of(page, size, sort);
 
         List<ItemRequest> requests = repository.findByRequestor_IdNotOrderByCreatedDesc(userId, pageable);
+        List<ItemRequestDtoOut> result = toItemRequestDtoOutWithItems(requests);
+        log.info("Получены все запросы (кроме пользователя id={}). Найдено {} запросов.", userId, result.size());
+        return result;
+    }
+
+    @Override
+    public List<ItemRequestDtoOut> getAllRequests(Long userId, String cursor, Integer size) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя с id " + userId + " не существует");
+        }
+        ItemRequestCursor position = ItemRequestCursor.decode(cursor);
+        List<ItemRequest> requests = repository.findAllOtherRequestsAfter(userId, position.getCreated(),
+                position.getId(), PageRequest.of(0, size));
+        List<ItemRequestDtoOut> result = toItemRequestDtoOutWithItems(requests);
+        log.info("Получены все запросы (кроме пользователя id={}) после курсора {}. Найдено {} запросов.",
+                userId, position, result.size());
+        return result;
+    }
+
+    @Override
+    public ItemRequestDtoOut getRequestById(Long userId, Long requestId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователя с id " + userId + " не существует");
+        }
+        ItemRequest itemRequest = repository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос с id " + requestId + " не найден."));
+        List<ItemRequestResponseDto> items = itemRepository.findByRequest_Id(requestId).stream()
+                .map(itemMapper::toItemRequestResponseDto)
+                .collect(Collectors.toList());
+        log.info("Получен запрос id={} пользователем id={}", requestId, userId);
+        return itemRequestMapper.toItemRequestDtoOut(itemRequest, items);
+    }
 
+    private List<ItemRequestDtoOut> toItemRequestDtoOutWithItems(List<ItemRequest> requests) {
         if (requests.isEmpty()) {
             return Collections.emptyList();
         }
@@ -92,26 +117,11 @@ public class ItemRequestServiceImp implements ItemRequestService {
         Map<Long, List<ItemRequestResponseDto>> itemsByRequestId = allItemsForRequests.stream()
                 .map(itemMapper::toItemRequestResponseDto)
                 .collect(Collectors.groupingBy(ItemRequestResponseDto::getRequestId));
-        List<ItemRequestDtoOut> result = requests.stream()
+        return requests.stream()
                 .map(request -> {
                     List<ItemRequestResponseDto> itemsForCurrentRequest = itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList());
                     return itemRequestMapper.toItemRequestDtoOut(request, itemsForCurrentRequest);
                 })
                 .collect(Collectors.toList());
-        log.info("Получены все запросы (кроме пользователя id={}). Найдено {} запросов.", userId, result.size());
-        return result;
-    }
-
-    @Override
-    public ItemRequestDtoOut getRequestById(Long userId, Long requestId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователя с id " + userId + " не существует"));
-        ItemRequest itemRequest = repository.findById(requestId)
-                .orElseThrow(() -> new NotFoundException("Запрос с id " + requestId + " не найден."));
-        List<ItemRequestResponseDto> items = itemRepository.findByRequest_Id(requestId).stream()
-                .map(itemMapper::toItemRequestResponseDto)
-                .collect(Collectors.toList());
-        log.info("Получен запрос id={} пользователем id={}", requestId, userId);
-        return itemRequestMapper.toItemRequestDtoOut(itemRequest, items);
     }
 }
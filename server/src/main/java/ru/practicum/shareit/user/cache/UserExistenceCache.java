@@ -0,0 +1,62 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+public class UserExistenceCache {
+    private static final String CACHE_NAME = "userExistence";
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> cache;
+
+    public UserExistenceCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.cache.user-existence.maximum-size:100000}") long maximumSize,
+                              @Value("${shareit.cache.user-existence.expire-after-write:10m}") Duration positiveTtl,
+                              @Value("${shareit.cache.user-existence.negative-expire-after-write:30s}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Boolean exists, long currentTime) {
+                        return (exists ? positiveTtl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Boolean exists, long currentTime, long currentDuration) {
+                        return expireAfterCreate(userId, exists, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean exists(Long userId) {
+        return userId != null && cache.get(userId, userRepository::existsById);
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        TransactionCallbacks.afterCompletion(() -> cache.invalidate(userId));
+        log.debug("Пользователь ID {} удален из кэша существования.", userId);
+    }
+}
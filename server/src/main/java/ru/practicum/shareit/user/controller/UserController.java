@@ -1,21 +1,53 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping(path = "/users")
 @AllArgsConstructor
 public class UserController {
     private final UserService service;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return service.getAllUsers();
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writerFor(UserDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .writeValuesAsArray(out)) {
+                service.streamAllUsers(user -> {
+                    try {
+                        writer.write(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(params = "size")
+    public List<UserDto> getUsers(@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                  @Positive @RequestParam Integer size) {
+        return service.getUsers(from, size);
     }
 
     @GetMapping("/{userId}")
@@ -37,4 +69,4 @@ public class UserController {
     public void deleteUser(@PathVariable long userId) {
         service.deleteUserById(userId);
     }
-}
\ No newline at end of file
+}
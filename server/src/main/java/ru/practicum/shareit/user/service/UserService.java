@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto getUserById(Long id);
@@ -13,5 +14,7 @@ public interface UserService {
 
     UserDto updateUser(Long userId, UserDto userDto);
 
-    List<UserDto> getAllUsers();
+    List<UserDto> getUsers(Integer from, Integer size);
+
+    void streamAllUsers(Consumer<UserDto> action);
 }
@@ -1,27 +1,51 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.booking.cache.BookingListCache;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.cache.ItemBookingSummaryCache;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
+@Timed(value = "shareit.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImp implements UserService {
+    private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
 
     private final UserRepository repository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemBookingSummaryCache bookingSummaryCache;
+    private final BookingListCache bookingListCache;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     public UserDto getUserById(Long id) {
@@ -31,13 +55,24 @@ public class UserServiceImp implements UserService {
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        log.info("Запрос на получение всех пользователей");
-        return repository.findAll().stream()
+    public List<UserDto> getUsers(Integer from, Integer size) {
+        log.info("Запрос на получение пользователей: from={}, size={}", from, size);
+        return repository.findAllByOrderByIdAsc(OffsetPageRequest.of(from, size)).stream()
                 .map(userMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void streamAllUsers(Consumer<UserDto> action) {
+        log.info("Запрос на потоковую выгрузку всех пользователей");
+        try (Stream<User> users = repository.streamAllOrderById()) {
+            users.forEach(user -> {
+                action.accept(userMapper.toUserDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Override
     @Transactional
     public void deleteUserById(Long id) {
@@ -45,7 +80,21 @@ public class UserServiceImp implements UserService {
         if (!repository.existsById(id)) {
             throw new NotFoundException("Пользователь с ID " + id + " не найден для удаления.");
         }
+        List<Long> ownedItemIds = itemRepository.findIdsByOwnerId(id);
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerId(id);
+        List<Long> commentedItemIds = commentRepository.findItemIdsByAuthorId(id);
+        List<Long> bookerIds = bookingRepository.findBookerIdsByOwnerId(id);
+        List<Long> ownerIds = bookingRepository.findOwnerIdsByBookerId(id);
         repository.deleteById(id);
+        userExistenceCache.evict(id);
+        ownedItemIds.forEach(itemDetailsCache::evict);
+        commentedItemIds.forEach(itemDetailsCache::evict);
+        ownedItemIds.forEach(bookingSummaryCache::evict);
+        bookedItemIds.forEach(bookingSummaryCache::evict);
+        bookingListCache.evict(BookingListCache.Role.BOOKER, id);
+        bookingListCache.evict(BookingListCache.Role.OWNER, id);
+        bookerIds.forEach(bookerId -> bookingListCache.evict(BookingListCache.Role.BOOKER, bookerId));
+        ownerIds.forEach(ownerId -> bookingListCache.evict(BookingListCache.Role.OWNER, ownerId));
         log.info("Пользователь с ID {} удален.", id);
     }
 
@@ -54,10 +103,13 @@ public class UserServiceImp implements UserService {
     public UserDto addNewUser(UserDto userDto) {
         log.info("Попытка добавления нового пользователя: {}", userDto.getEmail());
         User user = userMapper.toUser(userDto);
-        if (repository.findByEmail(user.getEmail()).isPresent()) {
-            throw new ConflictException("Пользователь с email " + user.getEmail() + " уже существует.");
+        User savedUser;
+        try {
+            savedUser = repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflictOrRethrow(e, "Пользователь с email " + user.getEmail() + " уже существует.");
         }
-        User savedUser = repository.save(user);
+        userExistenceCache.evict(savedUser.getId());
         log.info("Пользователь добавлен: {}", savedUser);
         return userMapper.toUserDto(savedUser);
     }
@@ -68,16 +120,32 @@ public class UserServiceImp implements UserService {
         log.info("Попытка обновления пользователя с ID {}: {}", userId, userDto);
         User existingUser = repository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден для обновления"));
-        if (userDto.getEmail() != null && !userDto.getEmail().equals(existingUser.getEmail())) {
-            Optional<User> userWithSameEmail = repository.findByEmail(userDto.getEmail());
-            if (userWithSameEmail.isPresent() && !userWithSameEmail.get().getId().equals(userId)) {
-                throw new ConflictException("Email " + userDto.getEmail() + " уже занят другим пользователем.");
-            }
-        }
+        String oldName = existingUser.getName();
         userMapper.updateFromDto(existingUser, userDto);
-        User updatedUser = repository.save(existingUser);
+        User updatedUser;
+        try {
+            updatedUser = repository.saveAndFlush(existingUser);
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflictOrRethrow(e, "Email " + userDto.getEmail() + " уже занят другим пользователем.");
+        }
+        if (!oldName.equals(updatedUser.getName())) {
+            commentRepository.findItemIdsByAuthorId(userId).forEach(itemDetailsCache::evict);
+            bookingListCache.evict(BookingListCache.Role.BOOKER, userId);
+            bookingRepository.findOwnerIdsByBookerId(userId)
+                    .forEach(ownerId -> bookingListCache.evict(BookingListCache.Role.OWNER, ownerId));
+        }
         log.info("Пользователь обновлен: {}", updatedUser);
         return userMapper.toUserDto(updatedUser);
     }
 
-}
\ No newline at end of file
+    private static RuntimeException emailConflictOrRethrow(DataIntegrityViolationException e, String message) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toUpperCase().contains(EMAIL_CONSTRAINT)) {
+                return new ConflictException(message);
+            }
+        }
+        return e;
+    }
+}
@@ -0,0 +1,15 @@
+-- Индексы поиска вещей (только PostgreSQL)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_item_name_trgm ON items USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_item_description_trgm ON items USING gin (description gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_item_search_vector ON items USING gin (
+  (setweight(to_tsvector('simple', name), 'A') || setweight(to_tsvector('simple', description), 'B')));
+
+-- Бронирования одной вещи не пересекаются независимо от статуса: на этом держится
+-- проверка пересечений в BookingServiceImpl.addNewBooking
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_booking_item_period;
+ALTER TABLE bookings ADD CONSTRAINT ex_booking_item_period
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&);
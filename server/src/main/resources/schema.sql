@@ -23,6 +23,9 @@ CREATE TABLE IF NOT EXISTS requests (
   CONSTRAINT fk_request_requestor FOREIGN KEY (requestor_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_request_requestor_created ON requests (requestor_id, created DESC);
+CREATE INDEX IF NOT EXISTS idx_request_created_id ON requests (created DESC, id DESC);
+
 -- Таблица вещей
 CREATE TABLE IF NOT EXISTS items (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -36,6 +39,9 @@ CREATE TABLE IF NOT EXISTS items (
   CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE SET NULL
 );
 
+CREATE INDEX IF NOT EXISTS idx_item_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_item_request ON items (request_id);
+
 -- Таблица бронирований
 CREATE TABLE IF NOT EXISTS bookings (
    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -49,6 +55,13 @@ CREATE TABLE IF NOT EXISTS bookings (
    CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_booking_item_period ON bookings (item_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_end ON bookings (item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_item_end ON bookings (booker_id, item_id, end_date);
+
 -- Таблица отзывов
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -59,4 +72,6 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comment PRIMARY KEY (id),
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_comment_item ON comments (item_id);
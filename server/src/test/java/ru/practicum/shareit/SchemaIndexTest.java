@@ -0,0 +1,298 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.StatusBooking;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет планы тех запросов, которые репозитории действительно отправляют в базу:
+ * SQL и параметры перехватываются на уровне JDBC и передаются в EXPLAIN как есть.
+ */
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(SchemaIndexTest.StatementCaptureConfig.class)
+public class SchemaIndexTest {
+    private static final int USERS_COUNT = 50;
+    private static final int ITEMS_PER_USER = 4;
+    private static final int BOOKINGS_PER_ITEM = 5;
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final Pattern TABLE_ACCESS =
+            Pattern.compile("\"PUBLIC\"\\.\"(\\w+)\" \"\\w+\"\\s*/\\* PUBLIC\\.(\\w+)(?:: ((?:[^*]|\\*(?!/))*))?\\*/");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementCapture statementCapture;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+        for (long i = 1; i <= USERS_COUNT; i++) {
+            users.add(new Object[]{i, "User " + i, "user" + i + "@mail.ru"});
+            requests.add(new Object[]{i, "Request " + i, i, now.minusHours(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", requests);
+
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long itemId = 0;
+        long bookingId = 0;
+        for (long owner = 1; owner <= USERS_COUNT; owner++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                items.add(new Object[]{itemId, "Item " + itemId, "Description " + itemId, true, owner,
+                        itemId % 3 == 0 ? owner : null});
+                comments.add(new Object[]{itemId, "Comment " + itemId, itemId, owner % USERS_COUNT + 1, now});
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    bookingId++;
+                    bookings.add(new Object[]{bookingId, now.plusDays(b * 2L - 4), now.plusDays(b * 2L - 3), itemId,
+                            (owner + b) % USERS_COUNT + 1, b % 2 == 0 ? "APPROVED" : "WAITING"});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                                 "VALUES (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                                 "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                                 "VALUES (?, ?, ?, ?, ?)", comments);
+    }
+
+    @Test
+    void bookerListFinders_shouldSeekBookerBookings() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertPlan(() -> bookingRepository.findResponsesByBookerId(7L, PAGE), seek("BOOKINGS", "BOOKER_ID = ?"));
+        assertPlan(() -> bookingRepository.findCurrentResponsesByBookerId(7L, now, PAGE),
+                index("BOOKINGS", "IDX_BOOKING_BOOKER_START", "BOOKER_ID = ?1 AND START_DATE < ?"));
+        assertPlan(() -> bookingRepository.findPastResponsesByBookerId(7L, now, PAGE), seek("BOOKINGS", "BOOKER_ID = ?"));
+        assertPlan(() -> bookingRepository.findFutureResponsesByBookerId(7L, now, PAGE), seek("BOOKINGS", "BOOKER_ID = ?"));
+        assertPlan(() -> bookingRepository.findResponsesByBookerIdAndStatus(7L, StatusBooking.WAITING, PAGE),
+                seek("BOOKINGS", "BOOKER_ID = ?"));
+    }
+
+    @Test
+    void ownerListFinders_shouldJoinFromOwnerItemsToTheirBookings() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertPlan(() -> bookingRepository.findResponsesByOwnerId(7L, PAGE),
+                seek("ITEMS", "OWNER_ID = ?"), seek("BOOKINGS", "ITEM_ID = "));
+        assertPlan(() -> bookingRepository.findCurrentResponsesByOwnerId(7L, now, PAGE),
+                seek("ITEMS", "OWNER_ID = ?"), index("BOOKINGS", "IDX_BOOKING_ITEM_PERIOD", "ITEM_ID = "));
+        assertPlan(() -> bookingRepository.findPastResponsesByOwnerId(7L, now, PAGE),
+                seek("ITEMS", "OWNER_ID = ?"), seek("BOOKINGS", "ITEM_ID = "));
+        assertPlan(() -> bookingRepository.findFutureResponsesByOwnerId(7L, now, PAGE),
+                seek("ITEMS", "OWNER_ID = ?"), seek("BOOKINGS", "ITEM_ID = "));
+        assertPlan(() -> bookingRepository.findResponsesByOwnerIdAndStatus(7L, StatusBooking.WAITING, PAGE),
+                seek("ITEMS", "OWNER_ID = ?"), seek("BOOKINGS", "ITEM_ID = "));
+    }
+
+    @Test
+    void stateCountsAndTransitions_shouldStayWithinOneUsersBookings() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertPlan(() -> bookingRepository.countStatesByBookerId(7L, now), seek("BOOKINGS", "BOOKER_ID = ?"));
+        assertPlan(() -> bookingRepository.countStatesByOwnerId(7L, now),
+                seek("ITEMS", "OWNER_ID = ?"), seek("BOOKINGS", "ITEM_ID = "));
+        assertPlan(() -> bookingRepository.findNextTransitionByBookerId(7L, now), seek("BOOKINGS", "BOOKER_ID = ?"));
+        assertPlan(() -> bookingRepository.findNextTransitionByOwnerId(7L, now),
+                index("BOOKINGS", "IDX_BOOKING_ITEM_PERIOD", "ITEM_ID IN("));
+    }
+
+    @Test
+    void overlapProbe_shouldSeekItemPeriodIndex() {
+        assertPlan(() -> bookingRepository.findFirstByItem_IdAndStartBeforeOrderByStartDesc(12L, LocalDateTime.now()),
+                index("BOOKINGS", "IDX_BOOKING_ITEM_PERIOD", "ITEM_ID = ?1 AND START_DATE < ?2"));
+    }
+
+    @Test
+    void lastNextAndCurrent_shouldResolveCorrelatedAggregatesByIndex() {
+        assertPlan(() -> bookingRepository.findLastNextAndCurrentByItemIds(List.of(12L, 13L), StatusBooking.APPROVED,
+                        LocalDateTime.now()),
+                seek("BOOKINGS", "ITEM_ID IN("),
+                index("BOOKINGS", "IDX_BOOKING_ITEM_STATUS_END", "END_DATE < ?"),
+                index("BOOKINGS", "IDX_BOOKING_ITEM_STATUS_START", "START_DATE > ?"));
+    }
+
+    @Test
+    void commentEligibility_shouldSeekItemBookings() {
+        assertPlan(() -> bookingRepository.findByBooker_IdAndItem_IdAndEndBeforeAndStatusEquals(7L, 12L,
+                LocalDateTime.now(), StatusBooking.APPROVED), seek("BOOKINGS", "ITEM_ID = ?"));
+    }
+
+    @Test
+    void requestFinders_shouldUseRequestIndexes() {
+        assertPlan(() -> requestRepository.findByRequestor_IdOrderByCreatedDesc(7L), seek("REQUESTS", "REQUESTOR_ID = ?"));
+        assertPlan(() -> requestRepository.findAllOtherRequestsAfter(7L, LocalDateTime.now().minusHours(20), 25L, PAGE),
+                index("REQUESTS", "IDX_REQUEST_CREATED_ID", "CREATED <= ?"));
+    }
+
+    @Test
+    void itemAndCommentFinders_shouldSeekForeignKeys() {
+        assertPlan(() -> itemRepository.findByOwnerId(7L), seek("ITEMS", "OWNER_ID = ?"));
+        assertPlan(() -> itemRepository.findByRequest_IdIn(Set.of(3L, 6L)), seek("ITEMS", "REQUEST_ID IN("));
+        assertPlan(() -> commentRepository.findAllByItem_Id(12L), seek("COMMENTS", "ITEM_ID = ?"));
+    }
+
+    private void assertPlan(Runnable finder, IndexAccess... expected) {
+        List<CapturedStatement> statements = statementCapture.record(finder);
+        assertThat(statements).as("SQL не перехвачен").hasSize(1);
+
+        CapturedStatement statement = statements.get(0);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement.sql(), String.class,
+                statement.parameters().values().toArray()).replaceAll("\\s+", " ");
+        List<IndexAccess> accesses = new ArrayList<>();
+        Matcher matcher = TABLE_ACCESS.matcher(plan);
+        while (matcher.find()) {
+            accesses.add(new IndexAccess(matcher.group(1), matcher.group(2), matcher.group(3)));
+        }
+
+        assertThat(plan).as(plan).doesNotContainIgnoringCase("tableScan");
+        for (IndexAccess access : expected) {
+            assertThat(accesses).as(plan).anyMatch(access::matches);
+        }
+    }
+
+    /**
+     * H2 сам создает индексы под внешние ключи и при равной оценке выбирает их вместо составных,
+     * поэтому для простого поиска по ведущему столбцу проверяется только условие поиска по индексу.
+     */
+    private static IndexAccess seek(String table, String condition) {
+        return new IndexAccess(table, null, condition);
+    }
+
+    private static IndexAccess index(String table, String index, String condition) {
+        return new IndexAccess(table, index, condition);
+    }
+
+    record IndexAccess(String table, String index, String condition) {
+        boolean matches(IndexAccess actual) {
+            return table.equals(actual.table())
+                   && (index == null || index.equals(actual.index()))
+                   && actual.condition() != null && actual.condition().contains(condition);
+        }
+    }
+
+    record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    static class StatementCapture {
+        private final ThreadLocal<List<CapturedStatement>> recording = new ThreadLocal<>();
+
+        List<CapturedStatement> record(Runnable action) {
+            List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+            recording.set(statements);
+            try {
+                action.run();
+            } finally {
+                recording.remove();
+            }
+            return statements;
+        }
+
+        Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                List<CapturedStatement> statements = recording.get();
+                if (statements == null || !method.getName().equals("prepareStatement")) {
+                    return result;
+                }
+                CapturedStatement statement = new CapturedStatement((String) args[0], new TreeMap<>());
+                statements.add(statement);
+                return proxy(PreparedStatement.class, result, (setter, setterArgs, ignored) -> {
+                    if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2
+                        && setterArgs[0] instanceof Integer index) {
+                        statement.parameters().put(index, setter.getName().equals("setNull") ? null : setterArgs[1]);
+                    }
+                    return ignored;
+                });
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                try {
+                    return interceptor.after(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+
+        private interface Interceptor {
+            Object after(Method method, Object[] args, Object result);
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor(ObjectProvider<StatementCapture> capture) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return capture.getObject().wrap(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Системные часы со сдвигом, который тест может увеличить вместо ожидания. Служат и часами
+ * сервисов, и тикером кэшей Caffeine, поэтому сдвиг одинаково виден тем и другим.
+ */
+@Primary
+@TestComponent
+public class TestClock extends Clock implements Ticker {
+    private volatile Duration offset = Duration.ZERO;
+
+    public void advance(Duration duration) {
+        offset = offset.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneId.systemDefault();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return Clock.offset(Clock.system(zone), offset);
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.now().plus(offset);
+    }
+
+    @Override
+    public long read() {
+        return System.nanoTime() + offset.toNanos();
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto owner;
+    private ItemOwnerViewDto item;
+    private final List<UserDto> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.addNewUser(new UserDto(null, "Owner", "owner@mail.ru"));
+        item = itemService.addItem(owner.getId(), new ItemOwnerViewDto(null, "Дрель", "Простая дрель", true, null, null, null));
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.addNewUser(new UserDto(null, "Booker " + i, "booker" + i + "@mail.ru")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void addNewBooking_whenSamePeriodRequestedConcurrently_shouldCreateSingleBooking() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        List<Boolean> results = runConcurrently(booker -> {
+            try {
+                bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(), start, start.plusDays(1)));
+                return true;
+            } catch (ConflictException e) {
+                return false;
+            }
+        }, 1);
+
+        assertThat(results).filteredOn(Boolean::booleanValue).hasSize(1);
+        assertThat(bookingsOfItem()).hasSize(1);
+    }
+
+    @Test
+    void addNewBooking_whenShiftedPeriodsRequestedConcurrently_shouldNeverOverlap() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        runConcurrently(booker -> {
+            int offset = (int) (Math.random() * THREADS * ATTEMPTS_PER_THREAD);
+            try {
+                bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                        base.plusHours(offset), base.plusHours(offset + 3)));
+                return true;
+            } catch (ConflictException e) {
+                return false;
+            }
+        }, ATTEMPTS_PER_THREAD);
+
+        List<BookingResponseDto> bookings = bookingsOfItem();
+        assertThat(bookings).isNotEmpty();
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+        }
+    }
+
+    @Test
+    void updateBooking_whenApprovedAndRejectedConcurrently_shouldApplySingleDecision() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto booking = bookingService.addNewBooking(bookers.get(0).getId(),
+                new BookingRequestDto(item.getId(), start, start.plusDays(1)));
+
+        List<Boolean> results = runConcurrently(booker -> {
+            try {
+                bookingService.updateBooking(booking.getId(), owner.getId(), bookers.indexOf(booker) % 2 == 0);
+                return true;
+            } catch (BadRequestException e) {
+                return false;
+            }
+        }, 1);
+
+        assertThat(results).filteredOn(Boolean::booleanValue).hasSize(1);
+    }
+
+    private List<Boolean> runConcurrently(BookingAttempt attempt, int attemptsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (UserDto booker : bookers) {
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    Callable<Boolean> task = () -> {
+                        start.await();
+                        return attempt.book(booker);
+                    };
+                    futures.add(executor.submit(task));
+                }
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                try {
+                    results.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    throw new AssertionError("Бронирование завершилось ошибкой", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<BookingResponseDto> bookingsOfItem() {
+        return jdbcTemplate.query("SELECT id, start_date, end_date FROM bookings WHERE item_id = ? ORDER BY start_date",
+                (rs, rowNum) -> {
+                    BookingResponseDto booking = new BookingResponseDto();
+                    booking.setId(rs.getLong("id"));
+                    booking.setStart(rs.getTimestamp("start_date").toLocalDateTime());
+                    booking.setEnd(rs.getTimestamp("end_date").toLocalDateTime());
+                    return booking;
+                }, item.getId());
+    }
+
+    @FunctionalInterface
+    private interface BookingAttempt {
+        boolean book(UserDto booker);
+    }
+}
@@ -7,14 +7,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.StatusBooking;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -38,7 +43,7 @@ public class BookingControllerTest {
         BookingResponseDto booking = new BookingResponseDto();
         booking.setId(1L);
 
-        when(bookingService.getUserBookings(userId, "ALL"))
+        when(bookingService.getUserBookings(userId, "ALL", 0, 10))
                 .thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings")
@@ -52,7 +57,7 @@ public class BookingControllerTest {
         Long userId = 1L;
         BookingResponseDto booking = new BookingResponseDto();
         booking.setId(1L);
-        when(bookingService.getOwnerBookings(userId, "ALL"))
+        when(bookingService.getOwnerBookings(userId, "ALL", 0, 10))
                 .thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings/owner")
@@ -61,6 +66,39 @@ public class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getUserBookings_whenFromNegative_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void getOwnerBookings_whenSizeNotPositive_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void getOwnerBookingCounts_shouldReturnOkAndCountsPerState() throws Exception {
+        Long userId = 1L;
+        when(bookingService.getOwnerBookingCounts(userId))
+                .thenReturn(new BookingStateCountsDto(3L, 1L, 1L, 1L, 2L, 1L));
+
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(3))
+                .andExpect(jsonPath("$.waiting").value(2));
+    }
+
     @Test
     void getBookingById_shouldReturnOkAndBooking() throws Exception {
         Long userId = 1L;
@@ -116,4 +154,22 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.id").value(bookingId));
     }
 
+    @Test
+    void updateBookings_shouldReturnOkAndPerBookingResults() throws Exception {
+        Long userId = 1L;
+        BookingBatchRequestDto requestDto = new BookingBatchRequestDto(List.of(1L, 2L), true);
+
+        when(bookingService.updateBookings(eq(userId), any(BookingBatchRequestDto.class)))
+                .thenReturn(List.of(new BookingBatchResultDto(1L, true, StatusBooking.APPROVED, null),
+                        new BookingBatchResultDto(2L, false, null, "Бронирование не найдено или доступ запрещен")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].updated").value(true))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(2));
+    }
 }
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.StatusBooking;
+import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BookingQueryCountTest {
+    private static final int BOOKINGS_COUNT = 5;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private UserDto owner;
+    private UserDto booker;
+    private BookingResponseDto booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.addNewUser(new UserDto(null, "Owner", "owner@mail.ru"));
+        booker = userService.addNewUser(new UserDto(null, "Booker", "booker@mail.ru"));
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            ItemOwnerViewDto item = itemService.addItem(owner.getId(),
+                    new ItemOwnerViewDto(null, "Вещь " + i, "Описание " + i, true, null, null, null));
+            UserDto otherBooker = userService.addNewUser(new UserDto(null, "Booker " + i, "booker" + i + "@mail.ru"));
+            booking = bookingService.addNewBooking(otherBooker.getId(), new BookingRequestDto(item.getId(),
+                    LocalDateTime.now().plusDays(i + 1), LocalDateTime.now().plusDays(i + 2)));
+            bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                    LocalDateTime.now().plusDays(i + 10), LocalDateTime.now().plusDays(i + 11)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getUserBookings_shouldProjectRowsWithoutLoadingEntities() {
+        List<BookingResponseDto> bookings = bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
+
+        assertThat(bookings).hasSize(BOOKINGS_COUNT);
+        assertThat(bookings).allSatisfy(b -> assertThat(b.getItem().getName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getOwnerBookings_shouldProjectRowsWithoutLoadingEntities() {
+        List<BookingResponseDto> bookings = bookingService.getOwnerBookings(owner.getId(), "ALL", 0, 20);
+
+        assertThat(bookings).hasSize(BOOKINGS_COUNT * 2);
+        assertThat(bookings).allSatisfy(b -> assertThat(b.getBooker().getName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getUserBookings_whenPageCached_shouldNotQuery() {
+        bookingService.getUserBookings(booker.getId(), "FUTURE", 0, 10);
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = bookingService.getUserBookings(booker.getId(), "FUTURE", 0, 10);
+
+        assertThat(bookings).hasSize(BOOKINGS_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void getBookingById_shouldLoadBookingWithAssociationsInOneQuery() {
+        BookingResponseDto found = bookingService.getBookingById(booking.getId(), owner.getId());
+
+        assertThat(found.getItem().getName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getBookingById_whenUserExistenceCached_shouldSkipUserQuery() {
+        bookingService.getBookingById(booking.getId(), owner.getId());
+        entityManager.clear();
+        statistics.clear();
+
+        bookingService.getBookingById(booking.getId(), owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateBooking_shouldUpdateStatusWithoutLoadingBookingFirst() {
+        BookingResponseDto approved = bookingService.updateBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(approved.getStatus()).isEqualTo(StatusBooking.APPROVED);
+        assertThat(approved.getBooker().getName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateItem_whenRenamed_shouldKeepUnrelatedBookerPagesCached() {
+        UserDto otherOwner = userService.addNewUser(new UserDto(null, "Other owner", "other-owner@mail.ru"));
+        UserDto otherBooker = userService.addNewUser(new UserDto(null, "Other booker", "other-booker@mail.ru"));
+        ItemOwnerViewDto otherItem = itemService.addItem(otherOwner.getId(),
+                new ItemOwnerViewDto(null, "Дрель", "Простая дрель", true, null, null, null));
+        bookingService.addNewBooking(otherBooker.getId(), new BookingRequestDto(otherItem.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
+        bookingService.getUserBookings(otherBooker.getId(), "ALL", 0, 10);
+
+        itemService.updateItem(otherOwner.getId(), otherItem.getId(),
+                new ItemOwnerViewDto(null, "Перфоратор", null, null, null, null, null));
+        statistics.clear();
+        bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(bookingService.getUserBookings(otherBooker.getId(), "ALL", 0, 10))
+                .extracting(b -> b.getItem().getName())
+                .containsExactly("Перфоратор");
+    }
+}
@@ -4,10 +4,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.TestClock;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.enums.StatusBooking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.AccessDeniedException;
@@ -19,7 +24,9 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Import(TestClock.class)
 public class BookingServiceImpTest {
 
     @Autowired
@@ -36,6 +44,8 @@ public class BookingServiceImpTest {
     private UserService userService;
     @Autowired
     private ItemService itemService;
+    @Autowired
+    private TestClock clock;
 
     private UserDto owner;
     private UserDto booker;
@@ -167,10 +177,45 @@ public class BookingServiceImpTest {
         requestDto2.setEnd(LocalDateTime.now().plusDays(4));
         bookingService.addNewBooking(booker.getId(), requestDto2);
 
-        List<BookingResponseDto> bookings = bookingService.getUserBookings(booker.getId(), "ALL");
+        List<BookingResponseDto> bookings = bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
         assertThat(bookings).hasSize(2);
     }
 
+    @Test
+    void getUserBookingsAndOwnerBookings_shouldReturnRequestedPage() {
+        for (int i = 1; i <= 3; i++) {
+            BookingRequestDto requestDto = new BookingRequestDto(itemDto.getId(),
+                    LocalDateTime.now().plusDays(2 * i), LocalDateTime.now().plusDays(2 * i + 1));
+            bookingService.addNewBooking(booker.getId(), requestDto);
+        }
+
+        List<BookingResponseDto> firstPage = bookingService.getUserBookings(booker.getId(), "ALL", 0, 2);
+        List<BookingResponseDto> secondPage = bookingService.getUserBookings(booker.getId(), "ALL", 2, 2);
+        List<BookingResponseDto> ownerPage = bookingService.getOwnerBookings(owner.getId(), "FUTURE", 2, 2);
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).getStart()).isAfter(firstPage.get(1).getStart());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getStart()).isBefore(firstPage.get(1).getStart());
+        assertThat(ownerPage).extracting(BookingResponseDto::getId)
+                .containsExactly(secondPage.get(0).getId());
+    }
+
+    @Test
+    void getUserBookings_whenFromIsNotMultipleOfSize_shouldStartAtFrom() {
+        for (int i = 1; i <= 3; i++) {
+            BookingRequestDto requestDto = new BookingRequestDto(itemDto.getId(),
+                    LocalDateTime.now().plusDays(2 * i), LocalDateTime.now().plusDays(2 * i + 1));
+            bookingService.addNewBooking(booker.getId(), requestDto);
+        }
+        List<BookingResponseDto> all = bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
+
+        assertThat(bookingService.getUserBookings(booker.getId(), "ALL", 1, 2)).extracting(BookingResponseDto::getId)
+                .containsExactly(all.get(1).getId(), all.get(2).getId());
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "ALL", 1, 2)).extracting(BookingResponseDto::getId)
+                .containsExactly(all.get(1).getId(), all.get(2).getId());
+    }
+
     @Test
     void getBookingById_whenUserDoesNotExist_shouldThrowNotFoundException() {
         assertThatThrownBy(() -> bookingService.getBookingById(1L, 999L))
@@ -233,6 +278,22 @@ public class BookingServiceImpTest {
                 .hasMessageContaining("Вещь уже забронирована на эти даты.");
     }
 
+    @Test
+    void addNewBooking_whenPeriodsAreAdjacent_shouldSaveBothBookings() {
+        LocalDateTime border = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        BookingRequestDto firstBooking = new BookingRequestDto(itemDto.getId(), border.minusDays(1), border);
+        BookingRequestDto secondBooking = new BookingRequestDto(itemDto.getId(), border, border.plusDays(1));
+        bookingService.addNewBooking(booker.getId(), firstBooking);
+
+        BookingResponseDto savedBooking = bookingService.addNewBooking(booker.getId(), secondBooking);
+
+        assertThat(savedBooking.getId()).isNotNull();
+        assertThatThrownBy(() -> bookingService.addNewBooking(booker.getId(),
+                new BookingRequestDto(itemDto.getId(), border.minusHours(1), border.plusHours(1))))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Пересечение с бронированием с " + border + " по " + border.plusDays(1));
+    }
+
     @Test
     void updateBooking_whenUserIsNotOwner_shouldThrowBadRequestException() {
         BookingRequestDto requestDto = new BookingRequestDto();
@@ -262,28 +323,28 @@ public class BookingServiceImpTest {
 
     @Test
     void getUserBookings_whenUserDoesNotExist_shouldThrowNotFoundException() {
-        assertThatThrownBy(() -> bookingService.getUserBookings(999L, "ALL"))
+        assertThatThrownBy(() -> bookingService.getUserBookings(999L, "ALL", 0, 10))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Пользователь с id 999 не найден");
     }
 
     @Test
     void getUserBookings_whenStateIsUnknown_shouldThrowBadRequestException() {
-        assertThatThrownBy(() -> bookingService.getUserBookings(booker.getId(), "UNKNOWN_STATE"))
+        assertThatThrownBy(() -> bookingService.getUserBookings(booker.getId(), "UNKNOWN_STATE", 0, 10))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Неверный параметр state: UNKNOWN_STATE");
     }
 
     @Test
     void getOwnerBookings_whenUserDoesNotExist_shouldThrowNotFoundException() {
-        assertThatThrownBy(() -> bookingService.getOwnerBookings(999L, "ALL"))
+        assertThatThrownBy(() -> bookingService.getOwnerBookings(999L, "ALL", 0, 10))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Пользователь с id 999 не найден");
     }
 
     @Test
     void getOwnerBookings_whenStateIsUnknown_shouldThrowBadRequestException() {
-        assertThatThrownBy(() -> bookingService.getOwnerBookings(owner.getId(), "UNKNOWN_STATE"))
+        assertThatThrownBy(() -> bookingService.getOwnerBookings(owner.getId(), "UNKNOWN_STATE", 0, 10))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Неверный параметр state: UNKNOWN_STATE");
     }
@@ -310,11 +371,11 @@ public class BookingServiceImpTest {
 
         bookingService.updateBooking(waitingBooking.getId(), owner.getId(), false);
 
-        assertThat(bookingService.getUserBookings(booker.getId(), "PAST")).hasSize(1);
-        assertThat(bookingService.getUserBookings(booker.getId(), "CURRENT")).hasSize(1);
-        assertThat(bookingService.getUserBookings(booker.getId(), "FUTURE")).hasSize(1);
-        assertThat(bookingService.getUserBookings(booker.getId(), "WAITING")).hasSize(2);
-        assertThat(bookingService.getUserBookings(booker.getId(), "REJECTED")).hasSize(1);
+        assertThat(bookingService.getUserBookings(booker.getId(), "PAST", 0, 10)).hasSize(1);
+        assertThat(bookingService.getUserBookings(booker.getId(), "CURRENT", 0, 10)).hasSize(1);
+        assertThat(bookingService.getUserBookings(booker.getId(), "FUTURE", 0, 10)).hasSize(1);
+        assertThat(bookingService.getUserBookings(booker.getId(), "WAITING", 0, 10)).hasSize(2);
+        assertThat(bookingService.getUserBookings(booker.getId(), "REJECTED", 0, 10)).hasSize(1);
     }
 
     @Test
@@ -339,10 +400,91 @@ public class BookingServiceImpTest {
 
         bookingService.updateBooking(waitingBooking.getId(), owner.getId(), false);
 
-        assertThat(bookingService.getOwnerBookings(owner.getId(), "PAST")).hasSize(1);
-        assertThat(bookingService.getOwnerBookings(owner.getId(), "CURRENT")).hasSize(1);
-        assertThat(bookingService.getOwnerBookings(owner.getId(), "FUTURE")).hasSize(1);
-        assertThat(bookingService.getOwnerBookings(owner.getId(), "WAITING")).hasSize(2);
-        assertThat(bookingService.getOwnerBookings(owner.getId(), "REJECTED")).hasSize(1);
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "PAST", 0, 10)).hasSize(1);
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "CURRENT", 0, 10)).hasSize(1);
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "FUTURE", 0, 10)).hasSize(1);
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "WAITING", 0, 10)).hasSize(2);
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "REJECTED", 0, 10)).hasSize(1);
+    }
+
+    @Test
+    void getBookingCounts_shouldCountBookingsPerStateForBookerAndOwner() {
+        bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1)));
+        bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1)));
+        BookingResponseDto rejected = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingService.updateBooking(rejected.getId(), owner.getId(), false);
+
+        BookingStateCountsDto expected = new BookingStateCountsDto(3L, 1L, 1L, 1L, 2L, 1L);
+        assertThat(bookingService.getUserBookingCounts(booker.getId())).isEqualTo(expected);
+        assertThat(bookingService.getOwnerBookingCounts(owner.getId())).isEqualTo(expected);
+        assertThat(bookingService.getOwnerBookingCounts(booker.getId()))
+                .isEqualTo(new BookingStateCountsDto(0L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    void getUserBookings_shouldReflectApprovalAfterCachedRead() {
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        assertThat(bookingService.getUserBookings(booker.getId(), "WAITING", 0, 10)).hasSize(1);
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "ALL", 0, 10))
+                .extracting(BookingResponseDto::getStatus).containsExactly(StatusBooking.WAITING);
+
+        bookingService.updateBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(bookingService.getUserBookings(booker.getId(), "WAITING", 0, 10)).isEmpty();
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "ALL", 0, 10))
+                .extracting(BookingResponseDto::getStatus).containsExactly(StatusBooking.APPROVED);
+    }
+
+    @Test
+    void getUserBookings_shouldMoveBookingFromFutureToCurrentWhenItStarts() {
+        LocalDateTime start = LocalDateTime.now(clock).plusHours(1);
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(),
+                new BookingRequestDto(itemDto.getId(), start, start.plusDays(1)));
+        assertThat(bookingService.getUserBookings(booker.getId(), "FUTURE", 0, 10))
+                .extracting(BookingResponseDto::getId).containsExactly(booking.getId());
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "CURRENT", 0, 10)).isEmpty();
+
+        clock.advance(Duration.ofHours(2));
+
+        assertThat(bookingService.getUserBookings(booker.getId(), "FUTURE", 0, 10)).isEmpty();
+        assertThat(bookingService.getOwnerBookings(owner.getId(), "CURRENT", 0, 10))
+                .extracting(BookingResponseDto::getId).containsExactly(booking.getId());
+    }
+
+    @Test
+    void updateBookings_shouldDecideWaitingBookingsAndReportTheRest() {
+        BookingResponseDto first = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        BookingResponseDto second = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4)));
+        BookingResponseDto decided = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6)));
+        bookingService.updateBooking(decided.getId(), owner.getId(), false);
+
+        List<BookingBatchResultDto> results = bookingService.updateBookings(owner.getId(),
+                new BookingBatchRequestDto(List.of(first.getId(), decided.getId(), 999L, second.getId(), first.getId()), true));
+
+        assertThat(results).extracting(BookingBatchResultDto::getBookingId)
+                .containsExactly(first.getId(), decided.getId(), 999L, second.getId());
+        assertThat(results).extracting(BookingBatchResultDto::isUpdated).containsExactly(true, false, false, true);
+        assertThat(results.get(1).getStatus()).isEqualTo(StatusBooking.REJECTED);
+        assertThat(results.get(2).getError()).isEqualTo("Бронирование не найдено или доступ запрещен");
+        assertThat(bookingService.getBookingById(second.getId(), owner.getId()).getStatus()).isEqualTo(StatusBooking.APPROVED);
+    }
+
+    @Test
+    void updateBookings_whenUserIsNotOwner_shouldNotChangeBookings() {
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+
+        List<BookingBatchResultDto> results = bookingService.updateBookings(booker.getId(),
+                new BookingBatchRequestDto(List.of(booking.getId()), true));
+
+        assertThat(results).extracting(BookingBatchResultDto::isUpdated).containsExactly(false);
+        assertThat(bookingService.getBookingById(booking.getId(), owner.getId()).getStatus()).isEqualTo(StatusBooking.WAITING);
     }
 }
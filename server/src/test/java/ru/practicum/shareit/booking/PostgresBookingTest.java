@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.StatusBooking;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Проверяет запросы и ограничения бронирований, которые есть только в PostgreSQL. Без Docker тест пропускается.
+ */
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresBookingTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemOwnerViewDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.addNewUser(new UserDto(null, "Owner", "owner@mail.ru"));
+        booker = userService.addNewUser(new UserDto(null, "Booker", "booker@mail.ru"));
+        item = itemService.addItem(owner.getId(), new ItemOwnerViewDto(null, "Дрель", "Простая дрель", true,
+                null, null, null));
+    }
+
+    @Test
+    void updateBooking_shouldUpdateStatusAndReturnResponseInSingleStatement() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                start, start.plusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        BookingResponseDto approved = bookingService.updateBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(approved.getId()).isEqualTo(booking.getId());
+        assertThat(approved.getStart()).isEqualTo(start);
+        assertThat(approved.getStatus()).isEqualTo(StatusBooking.APPROVED);
+        assertThat(approved.getItem().getName()).isEqualTo("Дрель");
+        assertThat(approved.getBooker().getName()).isEqualTo("Booker");
+        assertThat(bookingService.getBookingById(booking.getId(), owner.getId()).getStatus())
+                .isEqualTo(StatusBooking.APPROVED);
+    }
+
+    @Test
+    void updateBooking_whenAlreadyDecidedOrForeign_shouldThrow() {
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingService.updateBooking(booking.getId(), owner.getId(), false);
+
+        assertThatThrownBy(() -> bookingService.updateBooking(booking.getId(), owner.getId(), true))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Бронирование можно подтвердить только в статусе ожидания.");
+        assertThatThrownBy(() -> bookingService.updateBooking(booking.getId(), booker.getId(), true))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Бронирование не найдено или доступ запрещен");
+    }
+
+    @Test
+    void bookingsTable_shouldRejectOverlappingPeriodsOfSameItem() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(), start, start.plusDays(2)));
+        String insert = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)";
+
+        jdbcTemplate.update(insert, start.plusDays(2), start.plusDays(3), item.getId(), booker.getId(), "WAITING");
+        assertThatThrownBy(() -> jdbcTemplate.update(insert, start.plusDays(1), start.plusDays(4), item.getId(),
+                booker.getId(), "REJECTED"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
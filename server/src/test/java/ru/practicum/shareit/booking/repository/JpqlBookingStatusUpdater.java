@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.enums.StatusBooking;
+
+import java.util.Optional;
+
+/**
+ * Заменяет в тестах на H2 {@link PostgresBookingStatusUpdater}: в H2 нет UPDATE … RETURNING,
+ * поэтому после условного UPDATE данные для ответа читаются вторым запросом.
+ */
+@Component
+@Profile("test")
+@RequiredArgsConstructor
+public class JpqlBookingStatusUpdater implements BookingStatusUpdater {
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+
+    @Override
+    public Optional<BookingResponseDto> updateWaitingStatus(Long bookingId, Long ownerId, StatusBooking status) {
+        if (bookingRepository.updateWaitingStatus(bookingId, ownerId, status) == 0) {
+            return Optional.empty();
+        }
+        return bookingRepository.findById(bookingId).map(bookingMapper::toBookingResponseDto);
+    }
+}
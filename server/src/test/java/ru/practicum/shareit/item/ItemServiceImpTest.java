@@ -5,8 +5,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.TestClock;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
@@ -18,10 +20,13 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDetailsDto;
 import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
 import ru.practicum.shareit.item.dto.ItemSimpleDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -31,6 +36,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Import(TestClock.class)
 public class ItemServiceImpTest {
     @Autowired
     private ItemService itemService;
@@ -38,6 +44,10 @@ public class ItemServiceImpTest {
     private UserService userService;
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private TestClock clock;
 
     private UserDto owner;
     private UserDto otherUser;
@@ -128,6 +138,49 @@ public class ItemServiceImpTest {
         assertThat(itemDetails.getComments()).isEmpty();
     }
 
+    @Test
+    void getItemById_shouldReflectUpdatesAfterCachedRead() {
+        itemService.getItemById(itemDto.getId(), otherUser.getId());
+        itemService.updateItem(owner.getId(), itemDto.getId(),
+                new ItemOwnerViewDto(null, "Обновленная дрель", null, null, null, null, null));
+        approvedBooking(itemDto.getId(), -2, -1);
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Комментарий к вещи");
+        itemService.addComment(itemDto.getId(), otherUser.getId(), commentDto);
+        userService.updateUser(otherUser.getId(), new UserDto(null, "Renamed", null));
+
+        ItemDetailsDto itemDetails = itemService.getItemById(itemDto.getId(), otherUser.getId());
+
+        assertThat(itemDetails.getName()).isEqualTo("Обновленная дрель");
+        assertThat(itemDetails.getComments()).extracting(CommentDto::getAuthorName).containsExactly("Renamed");
+    }
+
+    @Test
+    void getItemById_shouldRefreshBookingSummaryAfterApproval() {
+        assertThat(itemService.getItemById(itemDto.getId(), owner.getId()).getNextBooking()).isNull();
+
+        BookingResponseDto next = approvedBooking(itemDto.getId(), 1, 2);
+
+        assertThat(itemService.getItemById(itemDto.getId(), owner.getId()).getNextBooking().getId())
+                .isEqualTo(next.getId());
+    }
+
+    @Test
+    void getItemById_shouldRollBookingSummaryOverWhenNextBookingStarts() {
+        LocalDateTime start = LocalDateTime.now(clock).plusHours(1);
+        BookingResponseDto booking = bookingService.addNewBooking(otherUser.getId(),
+                new BookingRequestDto(itemDto.getId(), start, start.plusDays(1)));
+        bookingService.updateBooking(booking.getId(), owner.getId(), true);
+        assertThat(itemService.getItemById(itemDto.getId(), owner.getId()).getNextBooking().getId())
+                .isEqualTo(booking.getId());
+
+        clock.advance(Duration.ofHours(2));
+
+        ItemDetailsDto itemDetails = itemService.getItemById(itemDto.getId(), owner.getId());
+        assertThat(itemDetails.getNextBooking()).isNull();
+        assertThat(itemDetails.getLastBooking()).isNull();
+    }
+
     @Test
     void getAllItemsByOwner_shouldReturnAllItems() {
         List<ItemOwnerViewDto> items = itemService.getAllItemsByOwner(owner.getId());
@@ -135,6 +188,29 @@ public class ItemServiceImpTest {
         assertThat(items.get(0).getName()).isEqualTo("Дрель");
     }
 
+    @Test
+    void getAllItemsByOwner_shouldReturnLastAndNextApprovedBookingPerItem() {
+        ItemOwnerViewDto secondItem = itemService.addItem(owner.getId(),
+                new ItemOwnerViewDto(null, "Пила", "Ручная пила", true, null, null, null));
+        BookingResponseDto oldPast = approvedBooking(itemDto.getId(), -5, -4);
+        BookingResponseDto lastPast = approvedBooking(itemDto.getId(), -3, -2);
+        BookingResponseDto nearFuture = approvedBooking(itemDto.getId(), 2, 3);
+        approvedBooking(itemDto.getId(), 4, 5);
+        bookingService.addNewBooking(otherUser.getId(), new BookingRequestDto(itemDto.getId(),
+                LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2)));
+        BookingResponseDto secondItemNext = approvedBooking(secondItem.getId(), 1, 2);
+
+        List<ItemOwnerViewDto> items = itemService.getAllItemsByOwner(owner.getId());
+
+        assertThat(items).hasSize(2);
+        ItemOwnerViewDto first = items.stream().filter(i -> i.getId().equals(itemDto.getId())).findFirst().orElseThrow();
+        ItemOwnerViewDto second = items.stream().filter(i -> i.getId().equals(secondItem.getId())).findFirst().orElseThrow();
+        assertThat(first.getLastBooking().getId()).isEqualTo(lastPast.getId()).isNotEqualTo(oldPast.getId());
+        assertThat(first.getNextBooking().getId()).isEqualTo(nearFuture.getId());
+        assertThat(second.getLastBooking()).isNull();
+        assertThat(second.getNextBooking().getId()).isEqualTo(secondItemNext.getId());
+    }
+
     @Test
     void searchItems_whenTextMatches_shouldReturnItem() {
         List<ItemSimpleDto> foundItems = itemService.searchItems("дрель");
@@ -142,6 +218,38 @@ public class ItemServiceImpTest {
         assertThat(foundItems.get(0).getName()).isEqualTo("Дрель");
     }
 
+    @Test
+    void searchItemsRanked_shouldReturnPageOfItemsOrderedByRelevance() {
+        itemService.addItem(owner.getId(), new ItemOwnerViewDto(null, "Сверло", "Сверло для дрели", true, null, null, null));
+        ItemOwnerViewDto hidden = itemService.addItem(owner.getId(),
+                new ItemOwnerViewDto(null, "Дрель ударная", "Мощная дрель", true, null, null, null));
+        itemService.updateItem(owner.getId(), hidden.getId(), new ItemOwnerViewDto(null, null, null, false, null, null, null));
+
+        List<ItemSimpleDto> firstPage = itemService.searchItemsRanked("дрел", 0, 1);
+        List<ItemSimpleDto> secondPage = itemService.searchItemsRanked("дрел", 1, 1);
+
+        assertThat(firstPage).extracting(ItemSimpleDto::getName).containsExactly("Дрель");
+        assertThat(secondPage).extracting(ItemSimpleDto::getName).containsExactly("Сверло");
+        assertThat(itemService.searchItemsRanked("дрел", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void searchItems_shouldReturnSameItemsAsLikeQuery() {
+        itemService.addItem(owner.getId(), new ItemOwnerViewDto(null, "Сверло", "Сверло для дрели", true, null, null, null));
+        itemService.addItem(owner.getId(), new ItemOwnerViewDto(null, "Дрель ударная", "Мощная", false, null, null, null));
+        itemService.addItem(owner.getId(), new ItemOwnerViewDto(null, "Отвертка", "Крестовая отвертка", true, null, null, null));
+
+        for (String text : List.of("дрел", "ДРЕЛЬ", "рел", "вертк", "ло д", "др", "о", "дре_ь", "пила")) {
+            List<Long> expectedIds = itemRepository.search(text.toUpperCase()).stream()
+                    .map(Item::getId)
+                    .sorted()
+                    .toList();
+            assertThat(itemService.searchItems(text)).extracting(ItemSimpleDto::getId)
+                    .as("Поиск по тексту '%s'", text)
+                    .containsExactlyElementsOf(expectedIds);
+        }
+    }
+
     @Test
     void searchItems_whenTextNotMatches_shouldReturnEmptyList() {
         List<ItemSimpleDto> foundItems = itemService.searchItems("молоток");
@@ -251,4 +359,10 @@ public class ItemServiceImpTest {
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Вещь с id 999 не найдена");
     }
-}
\ No newline at end of file
+
+    private BookingResponseDto approvedBooking(Long itemId, int startDays, int endDays) {
+        BookingResponseDto booking = bookingService.addNewBooking(otherUser.getId(), new BookingRequestDto(itemId,
+                LocalDateTime.now().plusDays(startDays), LocalDateTime.now().plusDays(endDays)));
+        return bookingService.updateBooking(booking.getId(), owner.getId(), true);
+    }
+}
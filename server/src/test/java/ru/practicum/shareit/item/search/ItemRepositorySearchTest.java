@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нативный ILIKE-запрос {@link PostgresItemSearchEngine} выполняется и на H2, поэтому проверяется
+ * без Docker; ранжированный поиск по tsvector покрыт только в {@link PostgresItemSearchEngineTest}.
+ */
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemRepositorySearchTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item drill;
+    private Item screwdriver;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@mail.ru"));
+        drill = itemRepository.save(new Item(null, "Аккумуляторная дрель", "Дрель с двумя батареями", owner, true, null));
+        screwdriver = itemRepository.save(new Item(null, "Отвертка", "Подходит к любой дрели", owner, true, null));
+        itemRepository.save(new Item(null, "Дрель ударная", "Мощная", owner, false, null));
+        itemRepository.save(new Item(null, "Молоток", "Обычный молоток", owner, true, null));
+    }
+
+    @Test
+    void searchSubstring_shouldMatchCaseInsensitivelyAndSkipUnavailable() {
+        assertThat(itemRepository.searchSubstring("ДРЕЛ")).extracting(Item::getId)
+                .containsExactly(drill.getId(), screwdriver.getId());
+    }
+
+    @Test
+    void searchSubstring_shouldMatchInsideWords() {
+        assertThat(itemRepository.searchSubstring("ертк")).extracting(Item::getId)
+                .containsExactly(screwdriver.getId());
+        assertThat(itemRepository.searchSubstring("пила")).isEmpty();
+    }
+}
@@ -0,0 +1,284 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Поисковый индекс в памяти JVM, заменяющий в тестах на H2 {@link PostgresItemSearchEngine}:
+ * в H2 нет tsvector. Общие posting-листы меняются только после коммита; изменения текущей
+ * транзакции до коммита видны лишь ей самой.
+ */
+@Component
+@Profile("test")
+@Slf4j
+@RequiredArgsConstructor
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int BATCH_SIZE = 1000;
+    private static final int GRAM_SIZE = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> trigramPostings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> documentTrigrams = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        itemRepository.findAll().forEach(this::apply);
+        ready = true;
+        log.info("Поисковый индекс вещей построен: {} вещей, {} термов, {} триграмм.",
+                documents.size(), postings.size(), trigramPostings.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(item);
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            bindPending(new LinkedHashMap<>());
+        }
+        pendingItems().put(item.getId(), item);
+    }
+
+    @Override
+    public List<Item> searchSubstring(String text) {
+        Optional<SortedSet<Long>> candidateIds = findSubstringCandidates(text);
+        if (candidateIds.isEmpty()) {
+            return itemRepository.search(text.toUpperCase(Locale.ROOT));
+        }
+        return loadItems(candidateIds.get()).stream()
+                .filter(item -> containsSubstring(item, text))
+                .sorted(Comparator.comparing(Item::getId))
+                .toList();
+    }
+
+    @Override
+    public List<Item> searchRanked(String text, int from, int size) {
+        List<Long> rankedIds = search(text, from, size);
+        Map<Long, Item> itemsById = new HashMap<>();
+        loadItems(rankedIds).forEach(item -> itemsById.put(item.getId(), item));
+        return rankedIds.stream()
+                .map(itemsById::get)
+                .filter(item -> item != null && matches(item, text))
+                .toList();
+    }
+
+    public Optional<SortedSet<Long>> findSubstringCandidates(String text) {
+        String upperText = text.toUpperCase(Locale.ROOT);
+        if (!ready || upperText.length() < GRAM_SIZE || upperText.contains("%") || upperText.contains("_")) {
+            return Optional.empty();
+        }
+        SortedSet<Long> candidates = indexedCandidates(upperText);
+        Map<Long, Item> pending = pendingItems();
+        candidates.removeAll(pending.keySet());
+        pending.values().stream()
+                .filter(item -> containsSubstring(item, text))
+                .forEach(item -> candidates.add(item.getId()));
+        return Optional.of(candidates);
+    }
+
+    public boolean containsSubstring(Item item, String text) {
+        String upperText = text.toUpperCase(Locale.ROOT);
+        return Boolean.TRUE.equals(item.getAvailable())
+               && (item.getName().toUpperCase(Locale.ROOT).contains(upperText)
+                   || item.getDescription().toUpperCase(Locale.ROOT).contains(upperText));
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        List<String> queryTerms = SearchTerms.tokenize(text);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> scores = indexedScores(queryTerms);
+        Map<Long, Item> pending = pendingItems();
+        scores.keySet().removeAll(pending.keySet());
+        pending.values().stream()
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .forEach(item -> {
+                    int score = score(documentTerms(item), queryTerms);
+                    if (score > 0) {
+                        scores.put(item.getId(), score);
+                    }
+                });
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip(from)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public boolean matches(Item item, String text) {
+        List<String> itemTerms = new ArrayList<>(SearchTerms.tokenize(item.getName()));
+        itemTerms.addAll(SearchTerms.tokenize(item.getDescription()));
+        return Boolean.TRUE.equals(item.getAvailable()) && SearchTerms.tokenize(text).stream()
+                .allMatch(queryTerm -> itemTerms.stream().anyMatch(term -> term.startsWith(queryTerm)));
+    }
+
+    private void apply(Item item) {
+        writeLock.lock();
+        try {
+            removeDocument(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                addDocument(item);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void addDocument(Item item) {
+        Map<String, Integer> terms = documentTerms(item);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>())
+                .put(item.getId(), weight));
+        documents.put(item.getId(), terms);
+
+        Set<String> trigrams = new HashSet<>(trigrams(item.getName().toUpperCase(Locale.ROOT)));
+        trigrams.addAll(trigrams(item.getDescription().toUpperCase(Locale.ROOT)));
+        trigrams.forEach(trigram -> trigramPostings.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet())
+                .add(item.getId()));
+        documentTrigrams.put(item.getId(), trigrams);
+    }
+
+    private void removeDocument(Long itemId) {
+        Map<String, Integer> terms = documents.remove(itemId);
+        if (terms != null) {
+            terms.keySet().forEach(term -> postings.computeIfPresent(term, (t, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+        Set<String> trigrams = documentTrigrams.remove(itemId);
+        if (trigrams != null) {
+            trigrams.forEach(trigram -> trigramPostings.computeIfPresent(trigram, (t, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Item> pendingItems() {
+        Object pending = TransactionSynchronizationManager.getResource(this);
+        return pending == null ? Collections.emptyMap() : (Map<Long, Item>) pending;
+    }
+
+    private void bindPending(Map<Long, Item> pending) {
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.values().forEach(ItemSearchIndex.this::apply);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ItemSearchIndex.this);
+            }
+        });
+    }
+
+    private List<Item> loadItems(Collection<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        List<Item> items = new ArrayList<>(idList.size());
+        for (int i = 0; i < idList.size(); i += BATCH_SIZE) {
+            items.addAll(itemRepository.findAllById(idList.subList(i, Math.min(i + BATCH_SIZE, idList.size()))));
+        }
+        return items;
+    }
+
+    private SortedSet<Long> indexedCandidates(String upperText) {
+        List<Set<Long>> postingLists = new ArrayList<>();
+        for (String trigram : trigrams(upperText)) {
+            Set<Long> ids = trigramPostings.get(trigram);
+            if (ids == null) {
+                return new TreeSet<>();
+            }
+            postingLists.add(ids);
+        }
+        postingLists.sort(Comparator.comparingInt(Set::size));
+        SortedSet<Long> candidates = new TreeSet<>(postingLists.get(0));
+        postingLists.subList(1, postingLists.size()).forEach(candidates::retainAll);
+        return candidates;
+    }
+
+    private Map<Long, Integer> indexedScores(List<String> queryTerms) {
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = scoreByPrefix(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<Long, Integer> scoreByPrefix(String prefix) {
+        Map<Long, Integer> scores = new HashMap<>();
+        postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).forEach((term, ids) -> {
+            int boost = term.equals(prefix) ? 2 : 1;
+            ids.forEach((id, weight) -> scores.merge(id, weight * boost, Math::max));
+        });
+        return scores;
+    }
+
+    private static int score(Map<String, Integer> terms, List<String> queryTerms) {
+        int total = 0;
+        for (String queryTerm : queryTerms) {
+            int best = 0;
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                if (term.getKey().startsWith(queryTerm)) {
+                    int boost = term.getKey().equals(queryTerm) ? 2 : 1;
+                    best = Math.max(best, term.getValue() * boost);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static Map<String, Integer> documentTerms(Item item) {
+        Map<String, Integer> terms = new HashMap<>();
+        SearchTerms.tokenize(item.getName()).forEach(term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        SearchTerms.tokenize(item.getDescription()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return terms;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(mock(ItemRepository.class));
+        index.warmUp();
+        index.index(new Item(1L, "Аккумуляторная дрель", "Дрель с двумя батареями", null, true, null));
+        index.index(new Item(2L, "Отвертка", "Подходит к любой дрели", null, true, null));
+        index.index(new Item(3L, "Дрель ударная", "Мощная", null, false, null));
+        index.index(new Item(4L, "Молоток", "Обычный молоток", null, true, null));
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveDescriptionMatches() {
+        assertThat(index.search("дрел", 0, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_shouldRequireAllQueryTerms() {
+        assertThat(index.search("дрель батареями", 0, 10)).containsExactly(1L);
+        assertThat(index.search("дрель молоток", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldReturnRequestedPage() {
+        assertThat(index.search("дрел", 1, 1)).containsExactly(2L);
+        assertThat(index.search("дрел", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void index_whenItemUpdated_shouldReplaceOldTerms() {
+        index.index(new Item(4L, "Кувалда", "Тяжелая", null, true, null));
+        index.index(new Item(1L, "Аккумуляторная дрель", "Дрель с двумя батареями", null, false, null));
+
+        assertThat(index.search("молоток", 0, 10)).isEmpty();
+        assertThat(index.search("кувалда", 0, 10)).containsExactly(4L);
+        assertThat(index.search("дрель", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void matches_shouldCheckEveryQueryTermAsWordPrefix() {
+        Item item = new Item(1L, "Аккумуляторная дрель", "Дрель с двумя батареями", null, true, null);
+
+        assertThat(index.matches(item, "акк бат")).isTrue();
+        assertThat(index.matches(item, "рель")).isFalse();
+    }
+
+    @Test
+    void findSubstringCandidates_shouldIntersectTrigramPostings() {
+        assertThat(index.findSubstringCandidates("рел")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1L, 2L));
+        assertThat(index.findSubstringCandidates("ДРЕЛЬ С")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1L));
+        assertThat(index.findSubstringCandidates("пила")).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void findSubstringCandidates_whenQueryCannotUseTrigrams_shouldReturnEmpty() {
+        assertThat(index.findSubstringCandidates("др")).isEmpty();
+        assertThat(index.findSubstringCandidates("дре%ь")).isEmpty();
+    }
+
+    @Test
+    void containsSubstring_shouldMatchWithinOneFieldOnly() {
+        Item item = new Item(5L, "Ключ гаечный", "Набор", null, true, null);
+
+        assertThat(index.containsSubstring(item, "ЧНЫ")).isTrue();
+        assertThat(index.containsSubstring(item, "чныйнаб")).isFalse();
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет нативные запросы поиска на настоящем PostgreSQL с pg_trgm и tsvector. Любой профиль,
+ * кроме {@code test}, поднимает {@link PostgresItemSearchEngine} и schema-postgresql.sql.
+ * Без Docker тест пропускается.
+ */
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresItemSearchEngineTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ItemSearchEngine searchEngine;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item drill;
+    private Item screwdriver;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@mail.ru"));
+        drill = itemRepository.save(new Item(null, "Аккумуляторная дрель", "Дрель с двумя батареями", owner, true, null));
+        screwdriver = itemRepository.save(new Item(null, "Отвертка", "Подходит к любой дрели", owner, true, null));
+        itemRepository.save(new Item(null, "Дрель ударная", "Мощная", owner, false, null));
+        itemRepository.save(new Item(null, "Молоток", "Обычный молоток", owner, true, null));
+    }
+
+    @Test
+    void shouldUsePostgresEngine() {
+        assertThat(searchEngine).isInstanceOf(PostgresItemSearchEngine.class);
+    }
+
+    @Test
+    void searchSubstring_shouldMatchCaseInsensitivelyAndSkipUnavailable() {
+        assertThat(searchEngine.searchSubstring("ДРЕЛ")).extracting(Item::getId).containsExactly(ids(drill, screwdriver));
+        assertThat(searchEngine.searchSubstring("ертк")).extracting(Item::getId).containsExactly(ids(screwdriver));
+    }
+
+    @Test
+    void searchRanked_shouldRankNameMatchesAboveDescriptionMatches() {
+        assertThat(searchEngine.searchRanked("дрел", 0, 10)).extracting(Item::getId).containsExactly(ids(drill, screwdriver));
+    }
+
+    @Test
+    void searchRanked_shouldRequireAllQueryTerms() {
+        assertThat(searchEngine.searchRanked("дрель батареями", 0, 10)).extracting(Item::getId).containsExactly(ids(drill));
+        assertThat(searchEngine.searchRanked("дрель молоток", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void searchRanked_shouldReturnRequestedPage() {
+        assertThat(searchEngine.searchRanked("дрел", 1, 1)).extracting(Item::getId).containsExactly(ids(screwdriver));
+        assertThat(searchEngine.searchRanked("дрел", 2, 1)).isEmpty();
+    }
+
+    private static Long[] ids(Item... items) {
+        return Arrays.stream(items).map(Item::getId).toArray(Long[]::new);
+    }
+}
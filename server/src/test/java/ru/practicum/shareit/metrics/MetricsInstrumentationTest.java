@@ -0,0 +1,114 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class MetricsInstrumentationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void serviceCall_shouldRecordTimerAndTagStatementsWithFinder() {
+        UserDto owner = userService.addNewUser(new UserDto(null, "Owner", "owner@mail.ru"));
+        ItemOwnerViewDto item = itemService.addItem(owner.getId(),
+                new ItemOwnerViewDto(null, "Дрель", "Аккумуляторная дрель", true, null, null, null));
+
+        itemService.getItemById(item.getId(), owner.getId());
+
+        assertThat(meterRegistry.get("shareit.service")
+                .tag("class", "ru.practicum.shareit.item.service.ItemServiceImpl")
+                .tag("method", "getItemById")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.sql.statements")
+                .tag("finder", "CommentRepository.findAllByItem_Id")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.sql.statements")
+                .tag("finder", "UserRepository.saveAndFlush")
+                .counter().count()).isPositive();
+    }
+
+    @Test
+    void httpRequest_shouldRecordPerRequestStatementsAndEntities() throws Exception {
+        UserDto user = userService.addNewUser(new UserDto(null, "User", "user@mail.ru"));
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("shareit.request.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/users/{userId}")
+                .summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get("shareit.request.sql.entities")
+                .tag("uri", "/users/{userId}")
+                .summary().totalAmount()).isEqualTo(1);
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_sql_statements_total{finder=\"UserRepository.findById\"")));
+    }
+
+    @Test
+    void httpRequest_shouldCountProjectionRowsOfBookingList() throws Exception {
+        UserDto owner = userService.addNewUser(new UserDto(null, "Owner", "owner@mail.ru"));
+        UserDto booker = userService.addNewUser(new UserDto(null, "Booker", "booker@mail.ru"));
+        ItemOwnerViewDto item = itemService.addItem(owner.getId(),
+                new ItemOwnerViewDto(null, "Дрель", "Аккумуляторная дрель", true, null, null, null));
+        bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingService.addNewBooking(booker.getId(), new BookingRequestDto(item.getId(),
+                LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4)));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("shareit.request.sql.projections")
+                .tag("uri", "/bookings")
+                .summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("shareit.request.sql.entities")
+                .tag("uri", "/bookings")
+                .summary().totalAmount()).isZero();
+        assertThat(meterRegistry.get("shareit.sql.projections")
+                .tag("finder", "BookingRepository.findResponsesByBookerId")
+                .counter().count()).isPositive();
+    }
+}
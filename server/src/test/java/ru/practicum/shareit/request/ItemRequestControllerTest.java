@@ -10,6 +10,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import ru.practicum.shareit.item.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -20,9 +21,11 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -92,6 +95,23 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(requestId));
     }
 
+    @Test
+    void getAllRequests_withCursor_shouldReturnNextCursorHeaderForFullPage() throws Exception {
+        ItemRequestDtoOut requestDto = new ItemRequestDtoOut(requestId, "Нужна дрель", userShortDto, LocalDateTime.now(), items);
+        String cursor = ItemRequestCursor.of(requestDto).encode();
+
+        when(service.getAllRequests(anyLong(), eq(cursor), eq(1)))
+                .thenReturn(List.of(requestDto));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", cursor)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemRequestController.NEXT_CURSOR_HEADER, cursor))
+                .andExpect(jsonPath("$[0].id").value(requestId));
+    }
+
     @Test
     void getRequestById_shouldReturnOkAndRequest() throws Exception {
         ItemRequestDtoOut requestDto = new ItemRequestDtoOut(requestId, "Нужна дрель", userShortDto, LocalDateTime.now(), items);
@@ -7,8 +7,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemOwnerViewDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -108,6 +110,28 @@ public class ItemRequestServiceImpTest {
         assertThat(allRequests).hasSize(1);
     }
 
+    @Test
+    void getAllRequests_withCursor_shouldContinueAfterLastReturnedRequest() {
+        itemRequestService.addNewRequest(user2.getId(), new ItemRequestDtoIn("Нужен молоток"));
+        itemRequestService.addNewRequest(user2.getId(), new ItemRequestDtoIn("Нужен винт"));
+        itemRequestService.addNewRequest(user2.getId(), new ItemRequestDtoIn("Нужна отвертка"));
+
+        List<ItemRequestDtoOut> firstPage = itemRequestService.getAllRequests(user1.getId(), 0, 2);
+        String cursor = ItemRequestCursor.of(firstPage.get(1)).encode();
+        List<ItemRequestDtoOut> secondPage = itemRequestService.getAllRequests(user1.getId(), cursor, 2);
+
+        assertThat(firstPage).extracting(ItemRequestDtoOut::getDescription)
+                .containsExactly("Нужна отвертка", "Нужен винт");
+        assertThat(secondPage).extracting(ItemRequestDtoOut::getDescription)
+                .containsExactly("Нужен молоток");
+    }
+
+    @Test
+    void getAllRequests_withMalformedCursor_shouldThrowValidationException() {
+        assertThatThrownBy(() -> itemRequestService.getAllRequests(user1.getId(), "not-a-cursor", 10))
+                .isInstanceOf(ValidationException.class);
+    }
+
     @Test
     void getRequestById_shouldReturnRequestWithItems() {
         ItemRequestDtoIn requestDtoIn = new ItemRequestDtoIn("Нужна дрель");
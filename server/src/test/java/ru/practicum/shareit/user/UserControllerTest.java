@@ -8,22 +8,32 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -87,6 +97,47 @@ public class UserControllerTest {
         verify(service, times(1)).updateUser(anyLong(), any(UserDto.class));
     }
 
+    @Test
+    void getAllUsers_shouldStreamJsonArray() throws Exception {
+        UserDto otherUser = new UserDto(2L, "Other User", "other@mail.ru");
+        doAnswer(invocation -> {
+            Consumer<UserDto> action = invocation.getArgument(0);
+            action.accept(userDto);
+            action.accept(otherUser);
+            return null;
+        }).when(service).streamAllUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].email").value(userDto.getEmail()))
+                .andExpect(jsonPath("$[1].id").value(otherUser.getId()));
+    }
+
+    @Test
+    void getUsers_whenSizeGiven_shouldReturnPage() throws Exception {
+        when(service.getUsers(10, 5)).thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users").param("from", "10").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(userDto.getId()));
+
+        verify(service, never()).streamAllUsers(any());
+    }
+
+    @Test
+    void getUsers_whenSizeNotPositive_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users").param("from", "0").param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
     @Test
     void deleteUser_shouldReturnOk() throws Exception {
         doNothing().when(service).deleteUserById(anyLong());
@@ -8,9 +8,11 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,6 +25,8 @@ public class UserServiceImpTest {
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private ItemService itemService;
 
     private UserDto user1;
     private UserDto user2;
@@ -51,6 +55,16 @@ public class UserServiceImpTest {
                 .hasMessageContaining("уже существует.");
     }
 
+    @Test
+    void updateUser_whenEmailTakenByOtherUser_shouldThrowConflictException() {
+        userService.addNewUser(user1);
+        UserDto savedUser = userService.addNewUser(user2);
+
+        assertThatThrownBy(() -> userService.updateUser(savedUser.getId(), new UserDto(null, null, user1.getEmail())))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("уже занят другим пользователем.");
+    }
+
     @Test
     void getUserById_shouldReturnUser() {
         UserDto savedUser = userService.addNewUser(user1);
@@ -68,13 +82,26 @@ public class UserServiceImpTest {
     }
 
     @Test
-    void getAllUsers_shouldReturnAllUsers() {
-        userService.addNewUser(user1);
-        userService.addNewUser(user2);
-        List<UserDto> users = userService.getAllUsers();
+    void getUsers_shouldReturnRequestedPageOrderedById() {
+        UserDto first = userService.addNewUser(user1);
+        UserDto second = userService.addNewUser(user2);
+        UserDto third = userService.addNewUser(new UserDto(null, "Test User 3", "test3@mail.ru"));
+
+        assertThat(userService.getUsers(0, 2)).extracting(UserDto::getId).containsExactly(first.getId(), second.getId());
+        assertThat(userService.getUsers(2, 2)).extracting(UserDto::getId).containsExactly(third.getId());
+        assertThat(userService.getUsers(1, 2)).extracting(UserDto::getId).containsExactly(second.getId(), third.getId());
+    }
 
-        assertThat(users).hasSize(2);
-        assertThat(users.get(0).getName()).isEqualTo(user1.getName());
+    @Test
+    void streamAllUsers_shouldVisitEveryUserInIdOrder() {
+        UserDto first = userService.addNewUser(user1);
+        UserDto second = userService.addNewUser(user2);
+        List<UserDto> users = new ArrayList<>();
+
+        userService.streamAllUsers(users::add);
+
+        assertThat(users).extracting(UserDto::getId).containsExactly(first.getId(), second.getId());
+        assertThat(users.get(1).getEmail()).isEqualTo(user2.getEmail());
     }
 
     @Test
@@ -107,6 +134,18 @@ public class UserServiceImpTest {
                 .isInstanceOf(NotFoundException.class);
     }
 
+    @Test
+    void deleteUserById_whenUserExistenceCached_shouldRejectDeletedUser() {
+        UserDto savedUser = userService.addNewUser(user1);
+        assertThat(itemService.getAllItemsByOwner(savedUser.getId())).isEmpty();
+
+        userService.deleteUserById(savedUser.getId());
+
+        assertThatThrownBy(() -> itemService.getAllItemsByOwner(savedUser.getId()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Пользователь с id " + savedUser.getId() + " не найден");
+    }
+
     @Test
     void updateUser_whenUpdateOnlyName_shouldUpdateNameAndKeepEmail() {
         UserDto savedUser = userService.addNewUser(user1);